@@ -0,0 +1,735 @@
+package main.java.com.devutilities.automation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process stand-in for the parts of the GitHub REST API the simulator uses, for load and
+ * latency tests without a real account. Built from {@code src/dev}, outside the application:
+ * <pre>
+ * javac -cp "bin:lib/*" -d build/dev src/dev/java/com/devutilities/automation/*.java
+ * java -cp "build/dev:bin:lib/*" main.java.com.devutilities.automation.FakeGitHubServer \
+ *      [--port 8089] [--latency-ms 80] [--jitter-ms 40] [--error-rate 0.02] [--rate-limit 5000] ...
+ * </pre>
+ * and then {@code github.endpoint=http://localhost:8089} in {@code config/app.properties}.
+ * <p>
+ * State (issues, pull requests, releases) lives in memory and is seeded at start. Every response
+ * carries {@code X-RateLimit-*} headers from a per-resource budget; GET responses have ETags and
+ * a matching {@code If-None-Match} gets a {@code 304} that costs no budget, as on GitHub.
+ * Latency, failures ({@code 500}) and secondary rate limits ({@code 403} with
+ * {@code Retry-After}) can be injected at configurable rates.
+ */
+public final class FakeGitHubServer {
+
+    /** Server settings; see {@link #parse(String[])} for the matching command-line options. */
+    record Options(int port, String owner, String repository, String login, long latencyMillis, long jitterMillis,
+                   double errorRate, double secondaryLimitRate, int rateLimit, int searchRateLimit,
+                   long rateWindowSeconds, int issues, int pullRequests, int releases, double mergeableRate,
+                   long seed, boolean verbose) {
+
+        static Options defaults() {
+            return new Options(8089, "octo", "playground", "simulator-user", 0, 0, 0.0, 0.0, 5000, 30,
+                    3600, 200, 50, 20, 0.9, 42, false);
+        }
+
+        static Options parse(String[] args) {
+            Options o = defaults();
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--verbose")) {
+                    values.put("verbose", "true");
+                } else if (args[i].startsWith("--") && i + 1 < args.length) {
+                    values.put(args[i].substring(2), args[++i]);
+                } else {
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            return new Options(
+                    Integer.parseInt(values.getOrDefault("port", String.valueOf(o.port))),
+                    values.getOrDefault("owner", o.owner),
+                    values.getOrDefault("repo", o.repository),
+                    values.getOrDefault("login", o.login),
+                    Long.parseLong(values.getOrDefault("latency-ms", String.valueOf(o.latencyMillis))),
+                    Long.parseLong(values.getOrDefault("jitter-ms", String.valueOf(o.jitterMillis))),
+                    Double.parseDouble(values.getOrDefault("error-rate", String.valueOf(o.errorRate))),
+                    Double.parseDouble(values.getOrDefault("secondary-limit-rate", String.valueOf(o.secondaryLimitRate))),
+                    Integer.parseInt(values.getOrDefault("rate-limit", String.valueOf(o.rateLimit))),
+                    Integer.parseInt(values.getOrDefault("search-rate-limit", String.valueOf(o.searchRateLimit))),
+                    Long.parseLong(values.getOrDefault("rate-window-s", String.valueOf(o.rateWindowSeconds))),
+                    Integer.parseInt(values.getOrDefault("issues", String.valueOf(o.issues))),
+                    Integer.parseInt(values.getOrDefault("pulls", String.valueOf(o.pullRequests))),
+                    Integer.parseInt(values.getOrDefault("releases", String.valueOf(o.releases))),
+                    Double.parseDouble(values.getOrDefault("mergeable-rate", String.valueOf(o.mergeableRate))),
+                    Long.parseLong(values.getOrDefault("seed", String.valueOf(o.seed))),
+                    Boolean.parseBoolean(values.getOrDefault("verbose", String.valueOf(o.verbose))));
+        }
+    }
+
+    /** An issue or, when {@code pull} is set, a pull request; they share one number sequence. */
+    private static final class Item {
+        final int number;
+        final boolean pull;
+        final String title;
+        final String body;
+        final String author;
+        final List<String> labels;
+        final Instant createdAt;
+        final String head;
+        final String base;
+        final Boolean mergeable;
+        String state = "open";
+        boolean merged;
+        int comments;
+        Instant updatedAt;
+
+        Item(int number, boolean pull, String title, String body, String author, List<String> labels,
+             Instant createdAt, String head, String base, Boolean mergeable) {
+            this.number = number;
+            this.pull = pull;
+            this.title = title;
+            this.body = body;
+            this.author = author;
+            this.labels = labels;
+            this.createdAt = createdAt;
+            this.updatedAt = createdAt;
+            this.head = head;
+            this.base = base;
+            this.mergeable = mergeable;
+        }
+    }
+
+    private record Release(long id, String tag, String name, String body, boolean prerelease, Instant createdAt) {}
+
+    private record Reply(int status, JsonNode body) {}
+
+    /** Requests left in the current window of one rate-limit resource ({@code core}, {@code search}). */
+    private static final class RateBudget {
+        final String resource;
+        final int limit;
+        final long windowSeconds;
+        int used;
+        long resetEpochSeconds;
+
+        RateBudget(String resource, int limit, long windowSeconds) {
+            this.resource = resource;
+            this.limit = limit;
+            this.windowSeconds = windowSeconds;
+        }
+
+        /** Counts one request; returns {@code false} once the window's budget is spent. */
+        synchronized boolean consume() {
+            roll();
+            if (used >= limit) {
+                return false;
+            }
+            used++;
+            return true;
+        }
+
+        synchronized void addHeaders(HttpExchange exchange) {
+            roll();
+            exchange.getResponseHeaders().set("X-RateLimit-Limit", String.valueOf(limit));
+            exchange.getResponseHeaders().set("X-RateLimit-Remaining", String.valueOf(Math.max(0, limit - used)));
+            exchange.getResponseHeaders().set("X-RateLimit-Used", String.valueOf(used));
+            exchange.getResponseHeaders().set("X-RateLimit-Reset", String.valueOf(resetEpochSeconds));
+            exchange.getResponseHeaders().set("X-RateLimit-Resource", resource);
+        }
+
+        private void roll() {
+            long now = Instant.now().getEpochSecond();
+            if (now >= resetEpochSeconds) {
+                used = 0;
+                resetEpochSeconds = now + windowSeconds;
+            }
+        }
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String[] OTHER_AUTHORS = {"alice", "bob", "carol", "dave"};
+    private static final Pattern ISSUE = Pattern.compile("/repos/([^/]+)/([^/]+)/issues/(\\d+)");
+    private static final Pattern ISSUE_COMMENTS = Pattern.compile("/repos/([^/]+)/([^/]+)/issues/(\\d+)/comments");
+    private static final Pattern PULL = Pattern.compile("/repos/([^/]+)/([^/]+)/pulls/(\\d+)");
+    private static final Pattern PULL_ACTION = Pattern.compile("/repos/([^/]+)/([^/]+)/pulls/(\\d+)/(merge|reviews)");
+    private static final Pattern REPO_PATH = Pattern.compile("/repos/([^/]+)/([^/]+)(/.*)?");
+
+    private final Options options;
+    private final HttpServer server;
+    private final RateBudget core;
+    private final RateBudget search;
+    private final Map<Integer, Item> items = new TreeMap<>();
+    private final List<Release> releases = new ArrayList<>();
+    private final AtomicLong nextId = new AtomicLong(1000);
+    private final AtomicLong requestCount = new AtomicLong();
+    private int nextNumber = 1;
+
+    private FakeGitHubServer(Options options) throws IOException {
+        this.options = options;
+        this.core = new RateBudget("core", options.rateLimit(), options.rateWindowSeconds());
+        // Como no GitHub, a pesquisa tem a sua própria quota, por minuto
+        this.search = new RateBudget("search", options.searchRateLimit(), 60);
+        this.server = HttpServer.create(new InetSocketAddress("localhost", options.port()), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        seed();
+    }
+
+    /** Starts a server with {@code options}; port 0 picks a free port. */
+    static FakeGitHubServer start(Options options) throws IOException {
+        FakeGitHubServer fake = new FakeGitHubServer(options);
+        fake.server.start();
+        return fake;
+    }
+
+    /** Base URL to use as {@code github.endpoint}. */
+    String getEndpoint() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    long getRequestCount() {
+        return requestCount.get();
+    }
+
+    void stop() {
+        server.stop(0);
+    }
+
+    public static void main(String[] args) throws IOException {
+        FakeGitHubServer fake = start(Options.parse(args));
+        Options o = fake.options;
+        System.out.println("Fake GitHub API for " + o.owner() + "/" + o.repository() + " (login " + o.login() + ") at " + fake.getEndpoint());
+        System.out.println("Set github.endpoint=" + fake.getEndpoint() + " in config/app.properties to use it.");
+    }
+
+    // --- Seed data ---
+
+    private void seed() {
+        Random random = new Random(options.seed());
+        Instant start = Instant.now().minus(365, ChronoUnit.DAYS);
+        int total = options.issues() + options.pullRequests();
+        int pullsLeft = options.pullRequests();
+        for (int i = 0; i < total; i++) {
+            boolean pull = pullsLeft > 0 && random.nextInt(total - i) < pullsLeft;
+            String author = random.nextInt(4) == 0 ? options.login() : OTHER_AUTHORS[random.nextInt(OTHER_AUTHORS.length)];
+            Instant created = start.plusSeconds((long) i * 365 * 86400 / Math.max(1, total));
+            if (pull) {
+                pullsLeft--;
+                addItem(true, "Seeded pull request " + nextNumber, "Seeded.", author, List.of(), created,
+                        "feature/seed-" + nextNumber, random.nextDouble() < options.mergeableRate());
+            } else {
+                addItem(false, "Seeded issue " + nextNumber, "Seeded.", author,
+                        List.of(random.nextBoolean() ? "bug" : "enhancement"), created, null, null);
+            }
+        }
+        for (int i = 0; i < options.releases(); i++) {
+            releases.add(0, new Release(nextId.incrementAndGet(), "v1." + (i / 10) + "." + (i % 10),
+                    "Release v1." + (i / 10) + "." + (i % 10), "Seeded.", false, start.plus(i, ChronoUnit.DAYS)));
+        }
+    }
+
+    private Item addItem(boolean pull, String title, String body, String author, List<String> labels,
+                         Instant createdAt, String head, Boolean mergeable) {
+        Item item = new Item(nextNumber++, pull, title, body, author, labels, createdAt, head, pull ? "main" : null, mergeable);
+        items.put(item.number, item);
+        return item;
+    }
+
+    // --- Request handling ---
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requestCount.incrementAndGet();
+            simulateLatency();
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            RateBudget budget = path.startsWith("/search/") ? search : core;
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextDouble() < options.secondaryLimitRate()) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                budget.addHeaders(exchange);
+                sendError(exchange, 403, "You have exceeded a secondary rate limit. Please wait a few minutes before you try again.");
+                return;
+            }
+            if (random.nextDouble() < options.errorRate()) {
+                budget.addHeaders(exchange);
+                sendError(exchange, 500, "Injected server error");
+                return;
+            }
+
+            Reply reply;
+            synchronized (this) {
+                reply = route(exchange, method, path);
+            }
+            send(exchange, budget, reply.status(), reply.body());
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, String.valueOf(e.getMessage()));
+        } finally {
+            if (options.verbose()) {
+                System.out.println(exchange.getRequestMethod() + " " + exchange.getRequestURI() + " -> " + exchange.getResponseCode());
+            }
+        }
+    }
+
+    private void simulateLatency() {
+        long delay = options.latencyMillis();
+        if (options.jitterMillis() > 0) {
+            delay += ThreadLocalRandom.current().nextLong(-options.jitterMillis(), options.jitterMillis() + 1);
+        }
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Reply route(HttpExchange exchange, String method, String path) throws IOException {
+        if (path.equals("/user") && method.equals("GET")) {
+            if (exchange.getRequestHeaders().getFirst("Authorization") == null) {
+                return new Reply(401, error("Requires authentication"));
+            }
+            return ok(userJson(options.login()));
+        }
+        if (path.equals("/search/issues") && method.equals("GET")) {
+            return ok(searchIssues(query(exchange)));
+        }
+        Matcher repoPath = REPO_PATH.matcher(path);
+        if (!repoPath.matches() || !repoPath.group(1).equals(options.owner()) || !repoPath.group(2).equals(options.repository())) {
+            return notFound();
+        }
+        String rest = repoPath.group(3) == null ? "" : repoPath.group(3);
+        Matcher m;
+
+        if (rest.isEmpty() && method.equals("GET")) {
+            return ok(repositoryJson());
+        }
+        if (rest.equals("/issues")) {
+            if (method.equals("POST")) {
+                JsonNode body = readBody(exchange);
+                List<String> labels = new ArrayList<>();
+                body.path("labels").forEach(label -> labels.add(label.asText()));
+                Item item = addItem(false, body.path("title").asText(), body.path("body").asText(""), options.login(),
+                        labels, Instant.now(), null, null);
+                return new Reply(201, issueJson(item));
+            }
+            if (method.equals("GET")) {
+                Map<String, String> q = query(exchange);
+                List<JsonNode> list = new ArrayList<>();
+                for (Item item : items.values()) {
+                    if (matchesState(item, q.getOrDefault("state", "open"))) {
+                        list.add(issueJson(item));
+                    }
+                }
+                return ok(page(exchange, list, q));
+            }
+        }
+        if (rest.equals("/pulls")) {
+            if (method.equals("POST")) {
+                JsonNode body = readBody(exchange);
+                Item item = addItem(true, body.path("title").asText(), body.path("body").asText(""), options.login(),
+                        List.of(), Instant.now(), body.path("head").asText(), Boolean.TRUE);
+                return new Reply(201, pullJson(item));
+            }
+            if (method.equals("GET")) {
+                Map<String, String> q = query(exchange);
+                List<JsonNode> list = new ArrayList<>();
+                for (Item item : items.values()) {
+                    if (item.pull && matchesState(item, q.getOrDefault("state", "open"))) {
+                        list.add(pullJson(item));
+                    }
+                }
+                return ok(page(exchange, list, q));
+            }
+        }
+        if ((m = ISSUE_COMMENTS.matcher(path)).matches() && method.equals("POST")) {
+            Item item = items.get(Integer.parseInt(m.group(3)));
+            if (item == null) {
+                return notFound();
+            }
+            item.comments++;
+            item.updatedAt = Instant.now();
+            ObjectNode comment = MAPPER.createObjectNode();
+            comment.put("id", nextId.incrementAndGet());
+            comment.put("body", readBody(exchange).path("body").asText());
+            comment.set("user", userJson(options.login()));
+            comment.put("html_url", htmlUrl("issues/" + item.number) + "#issuecomment-" + nextId.get());
+            comment.put("created_at", Instant.now().toString());
+            comment.put("updated_at", Instant.now().toString());
+            return new Reply(201, comment);
+        }
+        if ((m = ISSUE.matcher(path)).matches()) {
+            Item item = items.get(Integer.parseInt(m.group(3)));
+            if (item == null) {
+                return notFound();
+            }
+            if (method.equals("PATCH")) {
+                JsonNode body = readBody(exchange);
+                if (body.has("state")) {
+                    item.state = body.path("state").asText();
+                    item.updatedAt = Instant.now();
+                }
+            }
+            return ok(issueJson(item));
+        }
+        if ((m = PULL_ACTION.matcher(path)).matches()) {
+            Item item = items.get(Integer.parseInt(m.group(3)));
+            if (item == null || !item.pull) {
+                return notFound();
+            }
+            if (m.group(4).equals("merge") && method.equals("PUT")) {
+                if (item.merged || !item.state.equals("open") || !Boolean.TRUE.equals(item.mergeable)) {
+                    return new Reply(405, error("Pull Request is not mergeable"));
+                }
+                item.merged = true;
+                item.state = "closed";
+                item.updatedAt = Instant.now();
+                ObjectNode result = MAPPER.createObjectNode();
+                result.put("sha", sha("merge-" + item.number));
+                result.put("merged", true);
+                result.put("message", "Pull Request successfully merged");
+                return ok(result);
+            }
+            if (m.group(4).equals("reviews") && method.equals("POST")) {
+                JsonNode body = readBody(exchange);
+                if (item.author.equals(options.login()) && "APPROVE".equals(body.path("event").asText())) {
+                    return new Reply(422, error("Unprocessable Entity: Can not approve your own pull request"));
+                }
+                ObjectNode review = MAPPER.createObjectNode();
+                review.put("id", nextId.incrementAndGet());
+                review.put("body", body.path("body").asText(""));
+                review.put("state", "APPROVE".equals(body.path("event").asText()) ? "APPROVED" : "COMMENTED");
+                review.set("user", userJson(options.login()));
+                review.put("commit_id", sha("head-" + item.number));
+                review.put("html_url", htmlUrl("pull/" + item.number) + "#pullrequestreview-" + nextId.get());
+                review.put("submitted_at", Instant.now().toString());
+                return ok(review);
+            }
+        }
+        if ((m = PULL.matcher(path)).matches() && method.equals("GET")) {
+            Item item = items.get(Integer.parseInt(m.group(3)));
+            return item == null || !item.pull ? notFound() : ok(pullJson(item));
+        }
+        if (rest.equals("/releases")) {
+            if (method.equals("POST")) {
+                JsonNode body = readBody(exchange);
+                String tag = body.path("tag_name").asText();
+                for (Release release : releases) {
+                    if (release.tag().equals(tag)) {
+                        return new Reply(422, error("Validation Failed: tag_name already_exists"));
+                    }
+                }
+                Release release = new Release(nextId.incrementAndGet(), tag, body.path("name").asText(tag),
+                        body.path("body").asText(""), body.path("prerelease").asBoolean(), Instant.now());
+                releases.add(0, release);
+                return new Reply(201, releaseJson(release));
+            }
+            if (method.equals("GET")) {
+                List<JsonNode> list = new ArrayList<>();
+                releases.forEach(release -> list.add(releaseJson(release)));
+                return ok(page(exchange, list, query(exchange)));
+            }
+        }
+        return notFound();
+    }
+
+    private static boolean matchesState(Item item, String state) {
+        return state.equals("all") || item.state.equals(state);
+    }
+
+    /** Supports the qualifiers the simulator sends: {@code repo:}, {@code is:issue|pr|open|closed}, {@code [-]author:}. */
+    private ObjectNode searchIssues(Map<String, String> query) {
+        Boolean pulls = null;
+        String state = null;
+        String author = null;
+        String excludedAuthor = null;
+        boolean repoMatches = true;
+        for (String term : query.getOrDefault("q", "").trim().split("\\s+")) {
+            switch (term) {
+                case "is:issue" -> pulls = false;
+                case "is:pr" -> pulls = true;
+                case "is:open" -> state = "open";
+                case "is:closed" -> state = "closed";
+                default -> {
+                    if (term.startsWith("repo:")) {
+                        repoMatches = term.substring(5).equals(options.owner() + "/" + options.repository());
+                    } else if (term.startsWith("-author:")) {
+                        excludedAuthor = term.substring(8);
+                    } else if (term.startsWith("author:")) {
+                        author = term.substring(7);
+                    }
+                }
+            }
+        }
+        List<Item> matches = new ArrayList<>();
+        if (repoMatches) {
+            for (Item item : items.values()) {
+                if ((pulls == null || item.pull == pulls) && (state == null || item.state.equals(state))
+                        && (author == null || item.author.equals(author))
+                        && (excludedAuthor == null || !item.author.equals(excludedAuthor))) {
+                    matches.add(item);
+                }
+            }
+        }
+        // A pesquisa do GitHub só devolve os primeiros 1000 resultados
+        int perPage = Math.max(1, Math.min(100, intParam(query, "per_page", 30)));
+        int pageNumber = Math.max(1, intParam(query, "page", 1));
+        ObjectNode result = MAPPER.createObjectNode();
+        result.put("total_count", matches.size());
+        result.put("incomplete_results", false);
+        ArrayNode array = result.putArray("items");
+        int from = (pageNumber - 1) * perPage;
+        for (int i = from; i < Math.min(Math.min(matches.size(), GitHubSearch.MAX_RESULTS), from + perPage); i++) {
+            array.add(issueJson(matches.get(i)));
+        }
+        return result;
+    }
+
+    /** Slices {@code list} by {@code page}/{@code per_page} and sets the {@code Link} header GitHub clients follow. */
+    private ArrayNode page(HttpExchange exchange, List<JsonNode> list, Map<String, String> query) {
+        int perPage = Math.max(1, Math.min(100, intParam(query, "per_page", 30)));
+        int pageNumber = Math.max(1, intParam(query, "page", 1));
+        int lastPage = Math.max(1, (list.size() + perPage - 1) / perPage);
+        ArrayNode array = MAPPER.createArrayNode();
+        for (int i = (pageNumber - 1) * perPage; i < Math.min(list.size(), pageNumber * perPage); i++) {
+            array.add(list.get(i));
+        }
+        StringBuilder base = new StringBuilder(getEndpoint()).append(exchange.getRequestURI().getPath()).append('?');
+        query.forEach((name, value) -> {
+            if (!name.equals("page") && !name.equals("per_page")) {
+                base.append(URLEncoder.encode(name, StandardCharsets.UTF_8)).append('=')
+                        .append(URLEncoder.encode(value, StandardCharsets.UTF_8)).append('&');
+            }
+        });
+        base.append("per_page=").append(perPage).append("&page=");
+        List<String> links = new ArrayList<>();
+        if (pageNumber < lastPage) {
+            links.add("<" + base + (pageNumber + 1) + ">; rel=\"next\"");
+            links.add("<" + base + lastPage + ">; rel=\"last\"");
+        }
+        if (pageNumber > 1) {
+            links.add("<" + base + 1 + ">; rel=\"first\"");
+            links.add("<" + base + (pageNumber - 1) + ">; rel=\"prev\"");
+        }
+        if (!links.isEmpty()) {
+            exchange.getResponseHeaders().set("Link", String.join(", ", links));
+        }
+        return array;
+    }
+
+    // --- JSON ---
+
+    private ObjectNode userJson(String login) {
+        ObjectNode user = MAPPER.createObjectNode();
+        user.put("login", login);
+        user.put("id", Math.abs(login.hashCode()));
+        user.put("type", "User");
+        user.put("url", getEndpoint() + "/users/" + login);
+        user.put("html_url", getEndpoint() + "/" + login);
+        return user;
+    }
+
+    private ObjectNode repositoryJson() {
+        ObjectNode repo = MAPPER.createObjectNode();
+        repo.put("id", 1);
+        repo.put("name", options.repository());
+        repo.put("full_name", options.owner() + "/" + options.repository());
+        repo.set("owner", userJson(options.owner()));
+        repo.put("private", false);
+        repo.put("default_branch", "main");
+        repo.put("url", getEndpoint() + "/repos/" + options.owner() + "/" + options.repository());
+        repo.put("html_url", htmlUrl(""));
+        return repo;
+    }
+
+    private ObjectNode issueJson(Item item) {
+        ObjectNode issue = MAPPER.createObjectNode();
+        issue.put("id", 100_000L + item.number);
+        issue.put("number", item.number);
+        issue.put("title", item.title);
+        issue.put("body", item.body);
+        issue.put("state", item.state);
+        issue.put("comments", item.comments);
+        issue.set("user", userJson(item.author));
+        ArrayNode labels = issue.putArray("labels");
+        for (String label : item.labels) {
+            labels.addObject().put("name", label);
+        }
+        issue.put("url", getEndpoint() + "/repos/" + options.owner() + "/" + options.repository() + "/issues/" + item.number);
+        issue.put("html_url", htmlUrl((item.pull ? "pull/" : "issues/") + item.number));
+        issue.put("created_at", item.createdAt.toString());
+        issue.put("updated_at", item.updatedAt.toString());
+        if (item.pull) {
+            issue.putObject("pull_request").put("url",
+                    getEndpoint() + "/repos/" + options.owner() + "/" + options.repository() + "/pulls/" + item.number);
+        }
+        return issue;
+    }
+
+    private ObjectNode pullJson(Item item) {
+        ObjectNode pull = issueJson(item);
+        pull.remove("pull_request");
+        pull.put("url", getEndpoint() + "/repos/" + options.owner() + "/" + options.repository() + "/pulls/" + item.number);
+        pull.put("issue_url", getEndpoint() + "/repos/" + options.owner() + "/" + options.repository() + "/issues/" + item.number);
+        pull.put("merged", item.merged);
+        if (item.mergeable == null || item.merged) {
+            pull.putNull("mergeable");
+        } else {
+            pull.put("mergeable", item.mergeable);
+        }
+        pull.put("mergeable_state", Boolean.TRUE.equals(item.mergeable) ? "clean" : "dirty");
+        pull.set("head", branchJson(item.head, sha("head-" + item.number)));
+        pull.set("base", branchJson(item.base, sha("base")));
+        return pull;
+    }
+
+    private ObjectNode branchJson(String ref, String sha) {
+        ObjectNode branch = MAPPER.createObjectNode();
+        branch.put("ref", ref);
+        branch.put("label", options.owner() + ":" + ref);
+        branch.put("sha", sha);
+        branch.set("repo", repositoryJson());
+        return branch;
+    }
+
+    private ObjectNode releaseJson(Release release) {
+        ObjectNode json = MAPPER.createObjectNode();
+        json.put("id", release.id());
+        json.put("tag_name", release.tag());
+        json.put("name", release.name());
+        json.put("body", release.body());
+        json.put("draft", false);
+        json.put("prerelease", release.prerelease());
+        json.put("target_commitish", "main");
+        json.put("url", getEndpoint() + "/repos/" + options.owner() + "/" + options.repository() + "/releases/" + release.id());
+        json.put("html_url", htmlUrl("releases/tag/" + release.tag()));
+        json.put("created_at", release.createdAt().toString());
+        json.put("published_at", release.createdAt().toString());
+        return json;
+    }
+
+    private ObjectNode error(String message) {
+        ObjectNode error = MAPPER.createObjectNode();
+        error.put("message", message);
+        error.put("documentation_url", "https://docs.github.com/rest");
+        return error;
+    }
+
+    private String htmlUrl(String suffix) {
+        return getEndpoint() + "/" + options.owner() + "/" + options.repository() + (suffix.isEmpty() ? "" : "/" + suffix);
+    }
+
+    private static Reply ok(JsonNode body) {
+        return new Reply(200, body);
+    }
+
+    private Reply notFound() {
+        return new Reply(404, error("Not Found"));
+    }
+
+    // --- HTTP ---
+
+    private void send(HttpExchange exchange, RateBudget budget, int status, JsonNode body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(body);
+        boolean get = exchange.getRequestMethod().equals("GET");
+        String etag = "W/\"" + sha(new String(bytes, StandardCharsets.UTF_8)) + "\"";
+        if (get && status == 200 && etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            // Como no GitHub, um 304 não gasta a quota
+            budget.addHeaders(exchange);
+            exchange.getResponseHeaders().set("ETag", etag);
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        if (!budget.consume()) {
+            budget.addHeaders(exchange);
+            sendError(exchange, 403, "API rate limit exceeded for user " + options.login() + ".");
+            return;
+        }
+        budget.addHeaders(exchange);
+        if (get && status == 200) {
+            exchange.getResponseHeaders().set("ETag", etag);
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(error(message));
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static JsonNode readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readAllBytes();
+            return bytes.length == 0 ? MAPPER.createObjectNode() : MAPPER.readTree(bytes);
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static int intParam(Map<String, String> query, String name, int defaultValue) {
+        try {
+            return Integer.parseInt(query.getOrDefault(name, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static String sha(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
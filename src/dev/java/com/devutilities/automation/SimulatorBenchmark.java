@@ -0,0 +1,522 @@
+package main.java.com.devutilities.automation;
+
+import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Throughput benchmarks for the simulator's hot paths. Lives under {@code src/dev} so it stays out
+ * of the application build, but shares its package to reach the package-private classes it measures:
+ * <pre>
+ * javac -cp "bin:lib/*" -d build/dev src/dev/java/com/devutilities/automation/*.java
+ * java -cp "build/dev:bin:lib/*:src/main/resources" main.java.com.devutilities.automation.SimulatorBenchmark \
+ *      [--iterations 5] [--warmup 2] [--only create_commit,log_append] [--out bench-results.json]
+ * </pre>
+ * Every benchmark runs its warm-up iterations, then the measured ones, against throw-away
+ * repositories and files in the temp directory. Results are printed and written as JSON so
+ * runs of different versions can be compared.
+ */
+public final class SimulatorBenchmark {
+
+    /** One benchmark: untimed set-up, timed iterations of {@link #opsPerIteration()} operations, clean-up. */
+    private abstract static class Benchmark {
+        final String name;
+
+        Benchmark(String name) {
+            this.name = name;
+        }
+
+        void setUp() throws Exception {
+        }
+
+        /** Untimed preparation before each iteration. */
+        void beforeIteration() throws Exception {
+        }
+
+        abstract int opsPerIteration();
+
+        abstract void iteration() throws Exception;
+
+        void tearDown() throws Exception {
+        }
+    }
+
+    private record Result(String name, int opsPerIteration, double[] opsPerSecond) {
+        double mean() {
+            return Arrays.stream(opsPerSecond).average().orElse(0);
+        }
+
+        double min() {
+            return Arrays.stream(opsPerSecond).min().orElse(0);
+        }
+
+        double max() {
+            return Arrays.stream(opsPerSecond).max().orElse(0);
+        }
+
+        double stdev() {
+            double mean = mean();
+            return Math.sqrt(Arrays.stream(opsPerSecond).map(v -> (v - mean) * (v - mean)).average().orElse(0));
+        }
+    }
+
+    private static final String[] MESSAGES = {"Update", "Refactor", "Bug fix", "Doc update", "Style fix"};
+
+    /** Keeps results of pure computations observable so the JIT cannot drop them. */
+    private static long sink;
+
+    private SimulatorBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int iterations = 5;
+        int warmup = 2;
+        Path out = Paths.get("bench-results.json");
+        Set<String> only = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--iterations" -> iterations = Integer.parseInt(args[++i]);
+                case "--warmup" -> warmup = Integer.parseInt(args[++i]);
+                case "--out" -> out = Paths.get(args[++i]);
+                case "--only" -> only = Set.of(args[++i].split(","));
+                default -> {
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(2);
+                }
+            }
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (Benchmark benchmark : benchmarks()) {
+            if (only == null || only.contains(benchmark.name)) {
+                Result result = run(benchmark, warmup, iterations);
+                System.out.printf(Locale.ROOT, "%-20s %14.1f ops/s  (min %.1f, max %.1f, stdev %.1f)%n",
+                        result.name(), result.mean(), result.min(), result.max(), result.stdev());
+                results.add(result);
+            }
+        }
+        writeJson(out, results, warmup, iterations);
+        System.out.println("Results written to " + out.toAbsolutePath());
+        System.exit(0);
+    }
+
+    private static List<Benchmark> benchmarks() {
+        return List.of(
+                new CreateCommitBenchmark(),
+                new FastImportBenchmark(),
+                new NotesAppendBenchmark(),
+                new FormatMessageBenchmark(),
+                new LogAppendBenchmark(),
+                new ExecuteProcessBenchmark(),
+                new GitQueryBenchmark(),
+                new PlanCommitTimesBenchmark());
+    }
+
+    private static Result run(Benchmark benchmark, int warmup, int iterations) throws Exception {
+        double[] samples = new double[iterations];
+        benchmark.setUp();
+        try {
+            for (int i = 0; i < warmup + iterations; i++) {
+                benchmark.beforeIteration();
+                long start = System.nanoTime();
+                benchmark.iteration();
+                long elapsed = Math.max(1, System.nanoTime() - start);
+                if (i >= warmup) {
+                    samples[i - warmup] = benchmark.opsPerIteration() * 1e9 / elapsed;
+                }
+            }
+        } finally {
+            benchmark.tearDown();
+        }
+        return new Result(benchmark.name, benchmark.opsPerIteration(), samples);
+    }
+
+    // --- Benchmarks ---
+
+    /** {@code createCommit}: append to notes.txt, {@code git add}, {@code git commit}. */
+    private static final class CreateCommitBenchmark extends Benchmark {
+        private Path dir;
+        private GitWorkspace git;
+        private NotesAppender notes;
+        private LocalDateTime date = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+        CreateCommitBenchmark() {
+            super("create_commit");
+        }
+
+        @Override
+        void setUp() throws Exception {
+            dir = Files.createTempDirectory("bench-commit");
+            git = newRepository(dir);
+            notes = git.openNotesAppender(NotesAppender.SyncPolicy.NONE);
+        }
+
+        @Override
+        int opsPerIteration() {
+            return 20;
+        }
+
+        @Override
+        void iteration() throws Exception {
+            for (int i = 0; i < opsPerIteration(); i++) {
+                date = date.plusMinutes(7);
+                git.createCommit(notes, MESSAGES[i % MESSAGES.length], "Log entry for " + date, date);
+            }
+        }
+
+        @Override
+        void tearDown() throws Exception {
+            notes.close();
+            deleteRecursively(dir);
+        }
+    }
+
+    /** Bulk mode: the same commits through one {@code git fast-import} stream, from a fresh repository. */
+    private static final class FastImportBenchmark extends Benchmark {
+        private Path dir;
+        private GitWorkspace git;
+
+        FastImportBenchmark() {
+            super("fast_import_commit");
+        }
+
+        @Override
+        void beforeIteration() throws Exception {
+            if (dir != null) {
+                deleteRecursively(dir);
+            }
+            dir = Files.createTempDirectory("bench-fast-import");
+            git = newRepository(dir);
+        }
+
+        @Override
+        int opsPerIteration() {
+            return 1000;
+        }
+
+        @Override
+        void iteration() throws IOException {
+            LocalDateTime date = LocalDateTime.of(2020, 1, 1, 0, 0);
+            try (FastImportCommitWriter writer = new FastImportCommitWriter(git, "bench", "bench@example.com").open()) {
+                for (int i = 0; i < opsPerIteration(); i++) {
+                    date = date.plusMinutes(7);
+                    writer.commit(MESSAGES[i % MESSAGES.length], "Log entry for " + date + "\n", date);
+                }
+            }
+        }
+
+        @Override
+        void tearDown() throws Exception {
+            if (dir != null) {
+                deleteRecursively(dir);
+            }
+        }
+    }
+
+    /** One notes.txt line per operation, flushed the way {@code createCommit} flushes it. */
+    private static final class NotesAppendBenchmark extends Benchmark {
+        private Path file;
+        private NotesAppender notes;
+
+        NotesAppendBenchmark() {
+            super("notes_append");
+        }
+
+        @Override
+        void setUp() throws IOException {
+            file = Files.createTempFile("bench-notes", ".txt");
+            notes = NotesAppender.open(file, NotesAppender.SyncPolicy.NONE);
+        }
+
+        @Override
+        int opsPerIteration() {
+            return 20_000;
+        }
+
+        @Override
+        void iteration() throws IOException {
+            for (int i = 0; i < opsPerIteration(); i++) {
+                notes.append("Log entry for 2020-01-01T12:34:56 #");
+                notes.append(Integer.toString(i));
+                notes.append("\n");
+                notes.flush();
+            }
+        }
+
+        @Override
+        void tearDown() throws IOException {
+            notes.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /** {@code formatMessage}: a catalog message with arguments, as the log renders it. */
+    private static final class FormatMessageBenchmark extends Benchmark {
+        private MessageCatalog catalog;
+
+        FormatMessageBenchmark() {
+            super("format_message");
+        }
+
+        @Override
+        void setUp() {
+            catalog = MessageCatalog.forLocale(Locale.of("en", "US"));
+        }
+
+        @Override
+        int opsPerIteration() {
+            return 200_000;
+        }
+
+        @Override
+        void iteration() {
+            long length = 0;
+            for (int i = 0; i < opsPerIteration(); i++) {
+                length += catalog.format("log.commit_history.processing", "2020-01-01", i & 31).length();
+            }
+            sink += length;
+        }
+    }
+
+    /** The log path: producer thread → {@link LogDispatcher} → EDT → {@link LogListModel}. */
+    private static final class LogAppendBenchmark extends Benchmark {
+        private record Entry(String key, LogLevel level, Object[] args) {}
+
+        private LogListModel model;
+        private LogDispatcher<Entry> dispatcher;
+        private volatile CountDownLatch delivered;
+
+        LogAppendBenchmark() {
+            super("log_append");
+        }
+
+        @Override
+        void setUp() throws Exception {
+            MessageCatalog catalog = MessageCatalog.forLocale(Locale.of("en", "US"));
+            model = new LogListModel(10_000, catalog::format);
+            dispatcher = new LogDispatcher<>(opsPerIteration(), (batch, dropped) -> {
+                for (Entry entry : batch) {
+                    model.append(entry.key(), entry.args(), entry.level());
+                }
+                // Como na tela: só as linhas visíveis são formatadas
+                for (int i = Math.max(0, model.getSize() - 40); i < model.getSize(); i++) {
+                    sink += model.getElementAt(i).length();
+                }
+                CountDownLatch latch = delivered;
+                for (int i = 0; i < batch.size(); i++) {
+                    latch.countDown();
+                }
+            });
+            SwingUtilities.invokeAndWait(() -> { });
+        }
+
+        @Override
+        void beforeIteration() {
+            delivered = new CountDownLatch(opsPerIteration());
+        }
+
+        @Override
+        int opsPerIteration() {
+            return 100_000;
+        }
+
+        @Override
+        void iteration() throws InterruptedException {
+            for (int i = 0; i < opsPerIteration(); i++) {
+                dispatcher.offer(new Entry("log.commit_history.processing", LogLevel.INFO, new Object[]{"2020-01-01", i}));
+            }
+            if (!delivered.await(60, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("log entries were not delivered");
+            }
+        }
+    }
+
+    /** {@code executeProcess} overhead: fork, drain and wait for a trivial git command. */
+    private static final class ExecuteProcessBenchmark extends Benchmark {
+        private Path dir;
+        private GitWorkspace git;
+
+        ExecuteProcessBenchmark() {
+            super("execute_process");
+        }
+
+        @Override
+        void setUp() throws Exception {
+            dir = Files.createTempDirectory("bench-process");
+            git = newRepository(dir);
+        }
+
+        @Override
+        int opsPerIteration() {
+            return 50;
+        }
+
+        @Override
+        void iteration() {
+            for (int i = 0; i < opsPerIteration(); i++) {
+                git.executeGitCommand("rev-parse", "--git-dir");
+            }
+        }
+
+        @Override
+        void tearDown() throws Exception {
+            deleteRecursively(dir);
+        }
+    }
+
+    /** Resolving and reading {@code HEAD} through the long-lived {@code git cat-file} pool. */
+    private static final class GitQueryBenchmark extends Benchmark {
+        private Path dir;
+        private GitWorkspace git;
+
+        GitQueryBenchmark() {
+            super("git_query");
+        }
+
+        @Override
+        void setUp() throws Exception {
+            dir = Files.createTempDirectory("bench-query");
+            git = newRepository(dir);
+            try (NotesAppender notes = git.openNotesAppender(NotesAppender.SyncPolicy.NONE)) {
+                git.createCommit(notes, "Initial", "Initial entry", LocalDateTime.now());
+            }
+        }
+
+        @Override
+        int opsPerIteration() {
+            return 2_000;
+        }
+
+        @Override
+        void iteration() throws Exception {
+            long total = 0;
+            for (int i = 0; i < opsPerIteration(); i++) {
+                total += git.queries().authorEpochSecond("HEAD");
+            }
+            sink += total;
+        }
+
+        @Override
+        void tearDown() throws Exception {
+            git.close();
+            deleteRecursively(dir);
+        }
+    }
+
+    /** The commit-history timestamp planning: 20 distinct random times per day over a year. */
+    private static final class PlanCommitTimesBenchmark extends Benchmark {
+        private static final int DAYS = 365;
+        private static final int COMMITS_PER_DAY = 20;
+        private final SplittableRandom random = new SplittableRandom(42);
+
+        PlanCommitTimesBenchmark() {
+            super("plan_commit_times");
+        }
+
+        @Override
+        int opsPerIteration() {
+            return DAYS * COMMITS_PER_DAY;
+        }
+
+        @Override
+        void iteration() {
+            LocalDate start = LocalDate.of(2020, 1, 1);
+            long total = 0;
+            for (CommitPlanner.Day day : new CommitPlanner(start, start.plusDays(DAYS - 1), COMMITS_PER_DAY, COMMITS_PER_DAY, random)) {
+                for (int i = 0; i < day.size(); i++) {
+                    total += day.at(i).getSecond();
+                }
+            }
+            sink += total;
+        }
+    }
+
+    // --- Helpers ---
+
+    private static GitWorkspace newRepository(Path dir) throws IOException {
+        GitWorkspace git = new GitWorkspace(dir.toFile(), (key, level, args) -> {
+            if (level == LogLevel.ERROR) {
+                throw new IllegalStateException(key + " " + Arrays.toString(args));
+            }
+        });
+        git.executeGitCommand("init", "-q");
+        git.executeGitCommand("config", "user.name", "bench");
+        git.executeGitCommand("config", "user.email", "bench@example.com");
+        git.executeGitCommand("config", "commit.gpgsign", "false");
+        git.executeGitCommand("symbolic-ref", "HEAD", "refs/heads/main");
+        git.createNotesFileIfNotExists();
+        return git;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static void writeJson(Path out, List<Result> results, int warmup, int iterations) throws IOException {
+        try (Writer w = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            w.write("{\n");
+            w.write("  \"generatedAt\": \"" + Instant.now() + "\",\n");
+            w.write("  \"javaVersion\": " + quote(System.getProperty("java.version")) + ",\n");
+            w.write("  \"os\": " + quote(System.getProperty("os.name") + " " + System.getProperty("os.arch")) + ",\n");
+            w.write("  \"processors\": " + Runtime.getRuntime().availableProcessors() + ",\n");
+            w.write("  \"warmupIterations\": " + warmup + ",\n");
+            w.write("  \"iterations\": " + iterations + ",\n");
+            w.write("  \"results\": [");
+            for (int i = 0; i < results.size(); i++) {
+                Result r = results.get(i);
+                w.write(i == 0 ? "\n" : ",\n");
+                w.write("    {\"name\": " + quote(r.name()) + ", \"unit\": \"ops/s\", \"opsPerIteration\": " + r.opsPerIteration()
+                        + ", \"mean\": " + number(r.mean()) + ", \"min\": " + number(r.min()) + ", \"max\": " + number(r.max())
+                        + ", \"stdev\": " + number(r.stdev()) + ", \"samples\": [");
+                for (int j = 0; j < r.opsPerSecond().length; j++) {
+                    w.write((j == 0 ? "" : ", ") + number(r.opsPerSecond()[j]));
+                }
+                w.write("]}");
+            }
+            w.write("\n  ]\n}\n");
+        }
+    }
+
+    private static String number(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,72 @@
+package main.java.com.devutilities.automation;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pre-rendered button backgrounds, one image per state, size and device scale factor.
+ * <p>
+ * Entries are keyed by logical size and the scale of the target {@link Graphics2D}, so a
+ * resize or a move to a display with a different HiDPI scale simply misses the cache and
+ * renders a new image; stale entries fall out of the bounded LRU. Must be used from the EDT.
+ */
+final class ButtonSkinCache {
+
+    enum State { NORMAL, ROLLOVER, PRESSED, PRESSED_OUTSIDE, DISABLED }
+
+    /** Paints the skin for {@code state} in logical (unscaled) coordinates. */
+    interface SkinPainter {
+        void paint(Graphics2D g2, State state, int width, int height);
+    }
+
+    private record Key(State state, int width, int height, double scaleX, double scaleY) {}
+
+    private static final int MAX_ENTRIES = 64;
+
+    private final SkinPainter painter;
+    private final Map<Key, BufferedImage> skins = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, BufferedImage> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    ButtonSkinCache(SkinPainter painter) {
+        this.painter = painter;
+    }
+
+    /** Draws the cached skin for {@code state} at (0, 0), rendering it first if needed. */
+    void paint(Graphics2D g2, State state, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        AffineTransform transform = g2.getTransform();
+        double scaleX = Math.abs(transform.getScaleX());
+        double scaleY = Math.abs(transform.getScaleY());
+        Key key = new Key(state, width, height, scaleX, scaleY);
+        BufferedImage skin = skins.get(key);
+        if (skin == null) {
+            skin = render(g2.getDeviceConfiguration(), key);
+            skins.put(key, skin);
+        }
+        g2.drawImage(skin, 0, 0, width, height, null);
+    }
+
+    private BufferedImage render(GraphicsConfiguration configuration, Key key) {
+        int pixelWidth = (int) Math.ceil(key.width() * key.scaleX());
+        int pixelHeight = (int) Math.ceil(key.height() * key.scaleY());
+        BufferedImage image = configuration != null
+                ? configuration.createCompatibleImage(pixelWidth, pixelHeight, Transparency.TRANSLUCENT)
+                : new BufferedImage(pixelWidth, pixelHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.scale(key.scaleX(), key.scaleY());
+        painter.paint(g2, key.state(), key.width(), key.height());
+        g2.dispose();
+        return image;
+    }
+}
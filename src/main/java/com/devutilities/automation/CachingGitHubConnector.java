@@ -0,0 +1,199 @@
+package main.java.com.devutilities.automation;
+
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * {@link GitHubConnector} that revalidates GET responses with {@code If-None-Match}.
+ * <p>
+ * GitHub answers an unchanged resource with a bodiless {@code 304 Not Modified} that does not
+ * count against the rate limit; this connector turns it back into the cached {@code 200} so the
+ * client never sees the difference. Rate-limit headers are always taken from the live response.
+ * Entries are keyed by a digest of the {@code Authorization} header as well, so a response fetched
+ * with one token is never served to another, in memory or on disk.
+ * Every call is timed into {@link Metrics} as {@code github.<METHOD> <endpoint>}, with numbers
+ * and the repository replaced by placeholders so calls group by endpoint.
+ */
+final class CachingGitHubConnector implements GitHubConnector {
+
+    /** Headers that describe the transfer rather than the resource, so they are not cached. */
+    private static final Set<String> UNCACHED_HEADERS = Set.of("content-encoding", "content-length", "transfer-encoding");
+
+    private final GitHubConnector delegate;
+    private final HttpResponseCache cache;
+    private final Metrics metrics;
+
+    CachingGitHubConnector(GitHubConnector delegate, HttpResponseCache cache, Metrics metrics) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        long startNanos = System.nanoTime();
+        try {
+            return sendCached(request);
+        } finally {
+            metrics.record("github." + request.method() + " " + endpoint(request.url().getPath()), System.nanoTime() - startNanos);
+        }
+    }
+
+    /** {@code /repos/{owner}/{repo}/issues/{n}} for {@code /repos/me/demo/issues/12}. */
+    static String endpoint(String path) {
+        String[] segments = path.split("/", -1);
+        boolean repository = segments.length > 3 && "repos".equals(segments[1]);
+        for (int i = 1; i < segments.length; i++) {
+            if (repository && i == 2) {
+                segments[i] = "{owner}";
+            } else if (repository && i == 3) {
+                segments[i] = "{repo}";
+            } else if (!segments[i].isEmpty() && segments[i].chars().allMatch(Character::isDigit)) {
+                segments[i] = "{n}";
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    private GitHubConnectorResponse sendCached(GitHubConnectorRequest request) throws IOException {
+        if (!"GET".equals(request.method())) {
+            return delegate.send(request);
+        }
+        String key = request.url() + " " + request.header("Accept") + " " + credentialScope(request.header("Authorization"));
+        HttpResponseCache.Entry cached = cache.get(key);
+        GitHubConnectorResponse response = delegate.send(cached == null ? request : new ConditionalRequest(request, cached.etag()));
+
+        if (cached != null && response.statusCode() == 304) {
+            Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            headers.putAll(cached.headers());
+            copyHeaders(response.allHeaders(), headers, name -> name.toLowerCase(Locale.ROOT).startsWith("x-ratelimit-"));
+            response.close();
+            cache.recordHit(cached.body().length);
+            return new BufferedResponse(request, 200, headers, cached.body());
+        }
+
+        String etag = response.header("ETag");
+        if (response.statusCode() != 200 || etag == null) {
+            return response;
+        }
+        cache.recordMiss();
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        copyHeaders(response.allHeaders(), headers, name -> !UNCACHED_HEADERS.contains(name.toLowerCase(Locale.ROOT)));
+        byte[] body;
+        try {
+            body = HttpResponseCache.readAll(response.bodyStream());
+        } finally {
+            response.close();
+        }
+        cache.put(key, new HttpResponseCache.Entry(etag, headers, body));
+        return new BufferedResponse(request, 200, headers, body);
+    }
+
+    /** A short digest of the credential, so the token itself never reaches the cache files. */
+    static String credentialScope(String authorization) {
+        if (authorization == null || authorization.isEmpty()) {
+            return "anonymous";
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(authorization.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void copyHeaders(Map<String, List<String>> from, Map<String, List<String>> to,
+                                    Predicate<String> include) {
+        for (Map.Entry<String, List<String>> header : from.entrySet()) {
+            // HttpURLConnection reports the status line under a null name
+            if (header.getKey() != null && include.test(header.getKey())) {
+                to.put(header.getKey(), List.copyOf(header.getValue()));
+            }
+        }
+    }
+
+    /** Response whose body has already been read into memory. */
+    static final class BufferedResponse extends GitHubConnectorResponse {
+        private final byte[] body;
+
+        BufferedResponse(GitHubConnectorRequest request, int statusCode, Map<String, List<String>> headers, byte[] body) {
+            super(request, statusCode, headers);
+            this.body = body;
+        }
+
+        @Override
+        protected InputStream rawBodyStream() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+            // nada a libertar: o corpo está em memória
+        }
+    }
+
+    /** The original request plus an {@code If-None-Match} validator. */
+    private static final class ConditionalRequest implements GitHubConnectorRequest {
+        private final GitHubConnectorRequest request;
+        private final Map<String, List<String>> headers;
+
+        ConditionalRequest(GitHubConnectorRequest request, String etag) {
+            this.request = request;
+            this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            this.headers.putAll(request.allHeaders());
+            this.headers.put("If-None-Match", List.of(etag));
+        }
+
+        @Override
+        public String method() {
+            return request.method();
+        }
+
+        @Override
+        public Map<String, List<String>> allHeaders() {
+            return headers;
+        }
+
+        @Override
+        public String header(String name) {
+            List<String> values = headers.get(name);
+            return values == null || values.isEmpty() ? null : String.join(",", values);
+        }
+
+        @Override
+        public String contentType() {
+            return request.contentType();
+        }
+
+        @Override
+        public InputStream body() {
+            return request.body();
+        }
+
+        @Override
+        public URL url() {
+            return request.url();
+        }
+
+        @Override
+        public boolean hasBody() {
+            return request.hasBody();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package main.java.com.devutilities.automation;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.random.RandomGenerator;
+
+/**
+ * Plans the commit timestamps of a date range, one day at a time.
+ * <p>
+ * Each day draws its commit count in {@code [minPerDay, maxPerDay]} and then that many distinct
+ * seconds of the day with Floyd's sampling, so there are no retries however full the day is.
+ * Days are produced lazily and in order, with their seconds sorted; memory stays bounded by one
+ * day's plan plus a fixed 86,400-bit set, whatever the length of the range.
+ * <p>
+ * Not thread-safe: a planner and its {@link RandomGenerator} belong to the task that iterates it.
+ */
+public final class CommitPlanner implements Iterable<CommitPlanner.Day> {
+
+    public static final int SECONDS_PER_DAY = 86_400;
+
+    /** The commits of one day, as sorted seconds since midnight. */
+    public record Day(LocalDate date, int[] secondsOfDay) {
+        public int size() {
+            return secondsOfDay.length;
+        }
+
+        public LocalDateTime at(int index) {
+            return LocalDateTime.of(date, LocalTime.ofSecondOfDay(secondsOfDay[index]));
+        }
+    }
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final int minPerDay;
+    private final int maxPerDay;
+    private final RandomGenerator random;
+
+    public CommitPlanner(LocalDate startDate, LocalDate endDate, int minPerDay, int maxPerDay, RandomGenerator random) {
+        if (minPerDay < 0 || minPerDay > maxPerDay || maxPerDay > SECONDS_PER_DAY) {
+            throw new IllegalArgumentException("commits per day: " + minPerDay + ".." + maxPerDay);
+        }
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.minPerDay = minPerDay;
+        this.maxPerDay = maxPerDay;
+        this.random = random;
+    }
+
+    @Override
+    public Iterator<Day> iterator() {
+        long[] used = new long[(SECONDS_PER_DAY + 63) / 64];
+        return new Iterator<>() {
+            private LocalDate next = startDate;
+
+            @Override
+            public boolean hasNext() {
+                return !next.isAfter(endDate);
+            }
+
+            @Override
+            public Day next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int count = minPerDay == maxPerDay ? minPerDay : random.nextInt(minPerDay, maxPerDay + 1);
+                Day day = new Day(next, sample(count, random, used));
+                next = next.plusDays(1);
+                return day;
+            }
+        };
+    }
+
+    /**
+     * Draws {@code count} distinct seconds of the day, sorted. {@code used} is a cleared
+     * 86,400-bit scratch set and is left cleared on return.
+     */
+    public static int[] sample(int count, RandomGenerator random, long[] used) {
+        int[] seconds = new int[count];
+        for (int j = SECONDS_PER_DAY - count, i = 0; j < SECONDS_PER_DAY; j++, i++) {
+            int t = random.nextInt(j + 1);
+            int pick = (used[t >>> 6] & (1L << t)) == 0 ? t : j;
+            used[pick >>> 6] |= 1L << pick;
+            seconds[i] = pick;
+        }
+        Arrays.sort(seconds);
+        for (int second : seconds) {
+            used[second >>> 6] = 0;
+        }
+        return seconds;
+    }
+}
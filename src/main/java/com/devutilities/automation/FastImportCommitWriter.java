@@ -0,0 +1,196 @@
+package main.java.com.devutilities.automation;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Writes a whole planned commit history through a single {@code git fast-import} process.
+ * <p>
+ * Each commit carries the same author/committer date and the same cumulative {@code notes.txt}
+ * content that {@code createCommit} would produce, but without forking {@code git add} and
+ * {@code git commit} per timestamp. On {@link #close()} the working copy of {@code notes.txt}
+ * and its index entry are brought in line with the new branch tip.
+ * <p>
+ * Every commit re-sends the whole {@code notes.txt}, which the writer also holds in memory, so a
+ * stream costs more per commit the longer it runs. Callers keep streams short, closing the writer
+ * and opening a new one every {@code commits.bulk_chunk_size} commits; each one starts again
+ * from the file on disk.
+ * <p>
+ * A writer from {@link #onRef} instead builds commits on any ref from objects alone: HEAD, the
+ * index and the working tree are never read or touched, so it can run beside other git work.
+ * <p>
+ * Every git process goes through the {@link GitWorkspace}, with its timeouts and metrics.
+ */
+final class FastImportCommitWriter implements Closeable {
+
+    private static final String NOTES_FILE = "notes.txt";
+
+    private final GitWorkspace git;
+    private final Path notesPath;
+    private final String authorName;
+    private final String authorEmail;
+    private final ByteArrayOutputStream notesContent = new ByteArrayOutputStream();
+    private final boolean updateWorkTree;
+
+    private GitProcessExecutor.Piped process;
+    private OutputStream stream;
+    private String branchRef;
+    private String parent;
+    private String identName;
+    private String identEmail;
+    private int commitCount;
+
+    FastImportCommitWriter(GitWorkspace git, String authorName, String authorEmail) {
+        this(git, authorName, authorEmail, true);
+    }
+
+    private FastImportCommitWriter(GitWorkspace git, String authorName, String authorEmail, boolean updateWorkTree) {
+        this.git = git;
+        this.notesPath = git.notesFile();
+        this.authorName = authorName;
+        this.authorEmail = authorEmail;
+        this.updateWorkTree = updateWorkTree;
+    }
+
+    /**
+     * A writer that points {@code ref} at new commits on top of {@code parent}, whose
+     * {@code notes.txt} holds {@code notes}. Whatever {@code ref} held before is replaced.
+     */
+    static FastImportCommitWriter onRef(GitWorkspace git, String authorName, String authorEmail,
+                                        String ref, String parent, byte[] notes) {
+        FastImportCommitWriter writer = new FastImportCommitWriter(git, authorName, authorEmail, false);
+        writer.branchRef = ref;
+        writer.parent = parent;
+        writer.notesContent.writeBytes(notes);
+        return writer;
+    }
+
+    /**
+     * Resolves the current branch and its tip, reads the current {@code notes.txt} and starts
+     * the {@code git fast-import} process.
+     */
+    FastImportCommitWriter open() throws IOException {
+        if (updateWorkTree) {
+            branchRef = git.readGit("symbolic-ref", "-q", "HEAD");
+            if (branchRef.isEmpty()) {
+                throw new IOException("HEAD is detached; bulk commit mode needs a checked-out branch.");
+            }
+            parent = git.readGit("rev-parse", "-q", "--verify", "HEAD");
+            if (Files.exists(notesPath)) {
+                notesContent.write(Files.readAllBytes(notesPath));
+            }
+        }
+
+        String[] ident = resolveIdent();
+        identName = ident[0];
+        identEmail = ident[1];
+
+        // Um ref de trabalho pode ter sobrado de uma execução interrompida: é substituído
+        process = updateWorkTree
+                ? git.startGitWithInput("fast-import", "--quiet", "--done")
+                : git.startGitWithInput("fast-import", "--quiet", "--done", "--force");
+        stream = new BufferedOutputStream(process.input(), 64 * 1024);
+        return this;
+    }
+
+    /**
+     * Appends {@code noteLine} to {@code notes.txt} and records it as a new commit dated
+     * {@code commitDateTime} in the local time zone, exactly as {@code GIT_AUTHOR_DATE} does.
+     */
+    void commit(String message, String noteLine, LocalDateTime commitDateTime) throws IOException {
+        notesContent.write(noteLine.getBytes(StandardCharsets.UTF_8));
+
+        ZonedDateTime zoned = commitDateTime.atZone(ZoneId.systemDefault());
+        String when = zoned.toEpochSecond() + " " + formatOffset(zoned.getOffset().getTotalSeconds());
+        String ident = identName + " <" + identEmail + "> " + when;
+
+        writeAscii("commit " + branchRef + "\n");
+        writeAscii("author " + ident + "\n");
+        writeAscii("committer " + ident + "\n");
+        writeData(message.endsWith("\n") ? message : message + "\n");
+        if (commitCount == 0 && !parent.isEmpty()) {
+            writeAscii("from " + parent + "\n");
+        }
+        writeAscii("M 100644 inline " + NOTES_FILE + "\n");
+        writeAscii("data " + notesContent.size() + "\n");
+        notesContent.writeTo(stream);
+        writeAscii("\n");
+        commitCount++;
+    }
+
+    int commitCount() {
+        return commitCount;
+    }
+
+    /**
+     * Finishes the import, then rewrites {@code notes.txt} and resets its index entry so that
+     * {@code git status} is clean against the new tip.
+     */
+    @Override
+    public void close() throws IOException {
+        if (process == null) {
+            return;
+        }
+        GitProcessExecutor.Piped finished = process;
+        process = null;
+        try {
+            writeAscii("done\n");
+            stream.close();
+        } catch (IOException e) {
+            // o fast-import já terminou: o resultado abaixo diz porquê
+        }
+        GitProcessExecutor.Result result = GitProcessExecutor.await(finished.result(), List.of("git", "fast-import"));
+        if (!result.isSuccess()) {
+            throw new IOException("git fast-import " + (result.timedOut() ? "timed out" : "failed (" + result.exitCode() + ")")
+                    + ": " + result.output().trim());
+        }
+
+        if (commitCount > 0 && updateWorkTree) {
+            try (OutputStream out = Files.newOutputStream(notesPath)) {
+                notesContent.writeTo(out);
+            }
+            git.readGit("reset", "-q", "--", NOTES_FILE);
+        }
+    }
+
+    private String[] resolveIdent() throws IOException {
+        if (authorName != null && authorEmail != null && !authorEmail.isEmpty()) {
+            return new String[]{authorName, authorEmail};
+        }
+        // "Name <email> 1700000000 +0000", honouring the same config lookup as git commit
+        String ident = git.readGit("var", "GIT_AUTHOR_IDENT");
+        int open = ident.indexOf('<');
+        int close = ident.indexOf('>', open);
+        if (open < 0 || close < 0) {
+            throw new IOException("Could not resolve git author identity: " + ident);
+        }
+        return new String[]{ident.substring(0, open).trim(), ident.substring(open + 1, close)};
+    }
+
+    private void writeAscii(String text) throws IOException {
+        stream.write(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeData(String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        writeAscii("data " + bytes.length + "\n");
+        stream.write(bytes);
+        writeAscii("\n");
+    }
+
+    private static String formatOffset(int totalSeconds) {
+        char sign = totalSeconds < 0 ? '-' : '+';
+        int minutes = Math.abs(totalSeconds) / 60;
+        return String.format("%c%02d%02d", sign, minutes / 60, minutes % 60);
+    }
+}
@@ -0,0 +1,217 @@
+package main.java.com.devutilities.automation;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only record of a commit history run, so an interrupted run resumes where it stopped.
+ * <p>
+ * The file starts with the run's parameters and the number of commits made before it was last
+ * compacted. A {@code plan} line holds one day's seconds of the day; a {@code done} line says how
+ * many commits of that day's plan are in git, and so that every earlier planned day is complete.
+ * Plans may run ahead of {@code done} lines: bulk mode only confirms commits once
+ * {@code git fast-import} has written them.
+ * <p>
+ * Opening a journal for the same parameters resumes it: planned commits not confirmed yet come
+ * back from {@link #pendingDays()} and planning continues at {@link #nextDate()}. The file is
+ * compacted on open and deleted when the run completes.
+ * <pre>
+ * run 2020-01-01 2023-12-31 1 3
+ * commits 0
+ * plan 2020-01-01 3605,40012
+ * plan 2020-01-02 512,7300,80111
+ * done 2020-01-02 1
+ * </pre>
+ */
+public final class GenerationJournal implements Closeable {
+
+    /** The parameters that identify a run; a journal for different ones is discarded. */
+    public record Run(LocalDate startDate, LocalDate endDate, int minCommits, int maxCommits) {
+        public String header() {
+            return "run " + startDate + " " + endDate + " " + minCommits + " " + maxCommits;
+        }
+    }
+
+    private final Path file;
+    private final LocalDate nextDate;
+    private final List<CommitPlanner.Day> pendingDays;
+    private final long resumedCommits;
+    private final boolean resumed;
+    private BufferedWriter writer;
+
+    private GenerationJournal(Path file, LocalDate nextDate, List<CommitPlanner.Day> pendingDays,
+                              long resumedCommits, boolean resumed) {
+        this.file = file;
+        this.nextDate = nextDate;
+        this.pendingDays = pendingDays;
+        this.resumedCommits = resumedCommits;
+        this.resumed = resumed;
+    }
+
+    /**
+     * Opens the journal at {@code file} for {@code run}, resuming it if it was left by the same
+     * run. {@code headEpochSecond} is the author date of the branch tip (or -1): a pending commit
+     * with exactly that date was made but not yet confirmed when the last run stopped.
+     */
+    public static GenerationJournal open(Path file, Run run, long headEpochSecond) throws IOException {
+        GenerationJournal journal = Files.exists(file) ? read(file, run, headEpochSecond) : null;
+        if (journal == null) {
+            journal = new GenerationJournal(file, run.startDate(), List.of(), 0, false);
+        }
+        journal.rewrite(run);
+        return journal;
+    }
+
+    private static GenerationJournal read(Path file, Run run, long headEpochSecond) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).equals(run.header())) {
+            return null;
+        }
+        // Só os dias ainda não confirmados ficam em memória
+        Deque<CommitPlanner.Day> plans = new ArrayDeque<>();
+        LocalDate lastPlanned = null;
+        int doneOfFirst = 0;
+        long commits = 0;
+        for (String line : lines.subList(1, lines.size())) {
+            String[] parts = line.split(" ");
+            try {
+                switch (parts[0]) {
+                    case "commits" -> commits = Long.parseLong(parts[1]);
+                    case "plan" -> {
+                        LocalDate date = LocalDate.parse(parts[1]);
+                        plans.addLast(new CommitPlanner.Day(date, parts.length > 2 ? parseSeconds(parts[2]) : new int[0]));
+                        lastPlanned = date;
+                    }
+                    case "done" -> {
+                        LocalDate date = LocalDate.parse(parts[1]);
+                        int done = Integer.parseInt(parts[2]);
+                        while (!plans.isEmpty() && plans.peekFirst().date().isBefore(date)) {
+                            commits += plans.removeFirst().size() - doneOfFirst;
+                            doneOfFirst = 0;
+                        }
+                        commits += done - doneOfFirst;
+                        doneOfFirst = done;
+                    }
+                    default -> { }
+                }
+            } catch (RuntimeException e) {
+                // linha incompleta de uma execução interrompida no meio da escrita
+                break;
+            }
+        }
+
+        List<CommitPlanner.Day> pending = new ArrayList<>();
+        int from = doneOfFirst;
+        for (CommitPlanner.Day day : plans) {
+            if (from < day.size()) {
+                pending.add(from == 0 ? day : new CommitPlanner.Day(day.date(),
+                        Arrays.copyOfRange(day.secondsOfDay(), from, day.size())));
+            }
+            from = 0;
+        }
+        if (!pending.isEmpty() && headEpochSecond >= 0) {
+            CommitPlanner.Day first = pending.get(0);
+            long firstEpoch = LocalDateTime.of(first.date(), LocalTime.ofSecondOfDay(first.secondsOfDay()[0]))
+                    .atZone(ZoneId.systemDefault()).toEpochSecond();
+            if (firstEpoch == headEpochSecond) {
+                commits++;
+                if (first.size() == 1) {
+                    pending.remove(0);
+                } else {
+                    pending.set(0, new CommitPlanner.Day(first.date(), Arrays.copyOfRange(first.secondsOfDay(), 1, first.size())));
+                }
+            }
+        }
+        LocalDate nextDate = lastPlanned == null ? run.startDate() : lastPlanned.plusDays(1);
+        return new GenerationJournal(file, nextDate, pending, commits, true);
+    }
+
+    private static int[] parseSeconds(String csv) {
+        return Arrays.stream(csv.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+
+    /** True if an earlier, interrupted run for the same parameters was found. */
+    public boolean isResumed() {
+        return resumed;
+    }
+
+    /** Commits the interrupted run had already made. */
+    public long resumedCommits() {
+        return resumedCommits;
+    }
+
+    /** The first day that still has to be planned. */
+    public LocalDate nextDate() {
+        return nextDate;
+    }
+
+    /** Commits the interrupted run had planned but not made, oldest first; all before {@link #nextDate()}. */
+    public List<CommitPlanner.Day> pendingDays() {
+        return pendingDays;
+    }
+
+    public void planned(CommitPlanner.Day day) throws IOException {
+        append("plan " + day.date() + " " + Arrays.stream(day.secondsOfDay())
+                .mapToObj(Integer::toString).collect(Collectors.joining(",")));
+    }
+
+    /** Records that the first {@code count} commits planned for {@code date}, and every earlier day, are in git. */
+    public void committed(LocalDate date, int count) throws IOException {
+        append("done " + date + " " + count);
+    }
+
+    /** The run finished: nothing is left to resume. */
+    public void complete() throws IOException {
+        close();
+        Files.deleteIfExists(file);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    /** Compacts the file to the header, the progress so far and the pending days. */
+    private void rewrite(Run run) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, "journal", ".tmp");
+        Files.write(temp, List.of(run.header(), "commits " + resumedCommits), StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        for (CommitPlanner.Day day : pendingDays) {
+            planned(day);
+        }
+        LocalDate lastPlanned = nextDate.minusDays(1);
+        if (nextDate.isAfter(run.startDate())
+                && (pendingDays.isEmpty() || pendingDays.get(pendingDays.size() - 1).date().isBefore(lastPlanned))) {
+            // dia vazio que só marca até onde o planejamento chegou
+            planned(new CommitPlanner.Day(lastPlanned, new int[0]));
+        }
+    }
+
+    private void append(String line) throws IOException {
+        writer.write(line);
+        writer.write('\n');
+        writer.flush();
+    }
+}
@@ -0,0 +1,113 @@
+package main.java.com.devutilities.automation;
+
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GitHub;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.OptionalInt;
+import java.util.random.RandomGenerator;
+
+/**
+ * Caches the GitHub lookups every workflow repeats: the repository handle, the authenticated
+ * user's login and the pages of open issues/pull requests used to pick one at random.
+ * <p>
+ * Each kind of entry has its own TTL. Workflows that change what a listing would return
+ * (create, merge, close) must call the matching {@code invalidate*} method afterwards.
+ * <p>
+ * Random picks never walk the whole listing: the first search page gives the total count, a
+ * random position is drawn from it and only the page holding that position is fetched, so a
+ * pick costs at most two requests however many items are open.
+ */
+final class GitHubCache {
+
+    private static final String REPOSITORY = "repository";
+    private static final String MYSELF = "myself";
+    private static final String OPEN_ISSUES = "is:issue is:open";
+    private static final String OPEN_PULL_REQUESTS = "is:pr is:open";
+
+    private final GitHub github;
+    private final String repositoryName;
+    private final Duration repositoryTtl;
+    private final Duration userTtl;
+    private final Duration listingTtl;
+    private final GitHubSearch search;
+    private final int pageSize;
+
+    private final TtlCache<String, GHRepository> repositories = new TtlCache<>();
+    private final TtlCache<String, String> logins = new TtlCache<>();
+    private final TtlCache<String, GitHubSearch.Page> issuePages = new TtlCache<>();
+    private final TtlCache<String, GitHubSearch.Page> pullRequestPages = new TtlCache<>();
+
+    /** @param pageSize items per search page (GitHub allows 1 to 100) */
+    GitHubCache(GitHub github, GitHubSearch search, String repositoryName, Duration repositoryTtl, Duration userTtl,
+                Duration listingTtl, int pageSize) {
+        this.github = github;
+        this.search = search;
+        this.repositoryName = repositoryName;
+        this.repositoryTtl = repositoryTtl;
+        this.userTtl = userTtl;
+        this.listingTtl = listingTtl;
+        this.pageSize = Math.max(1, Math.min(100, pageSize));
+    }
+
+    GHRepository repository() throws IOException {
+        return repositories.get(REPOSITORY, repositoryTtl, () -> github.getRepository(repositoryName));
+    }
+
+    String currentUserLogin() throws IOException {
+        return logins.get(MYSELF, userTtl, () -> github.getMyself().getLogin());
+    }
+
+    /** Number of a random open issue (pull requests excluded), or empty if there is none. */
+    OptionalInt randomOpenIssue(RandomGenerator random) throws IOException {
+        return randomMatch(issuePages, OPEN_ISSUES, random);
+    }
+
+    /** Number of a random open pull request, or empty if there is none. */
+    OptionalInt randomOpenPullRequest(RandomGenerator random) throws IOException {
+        return randomMatch(pullRequestPages, OPEN_PULL_REQUESTS, random);
+    }
+
+    /** Number of a random open pull request not opened by {@code author}, filtered by the search itself. */
+    OptionalInt randomOpenPullRequestNotBy(String author, RandomGenerator random) throws IOException {
+        return randomMatch(pullRequestPages, OPEN_PULL_REQUESTS + " -author:" + author, random);
+    }
+
+    void invalidateIssues() {
+        issuePages.invalidateAll();
+    }
+
+    void invalidatePullRequests() {
+        pullRequestPages.invalidateAll();
+    }
+
+    long getHits() {
+        return repositories.getHits() + logins.getHits() + issuePages.getHits() + pullRequestPages.getHits();
+    }
+
+    long getMisses() {
+        return repositories.getMisses() + logins.getMisses() + issuePages.getMisses() + pullRequestPages.getMisses();
+    }
+
+    private OptionalInt randomMatch(TtlCache<String, GitHubSearch.Page> pages, String qualifiers,
+                                    RandomGenerator random) throws IOException {
+        String query = "repo:" + repositoryName + " " + qualifiers;
+        GitHubSearch.Page first = page(pages, query, 1);
+        int total = Math.min(first.totalCount(), GitHubSearch.MAX_RESULTS);
+        if (total == 0) {
+            return OptionalInt.empty();
+        }
+        int position = random.nextInt(total);
+        GitHubSearch.Page page = position < pageSize ? first : page(pages, query, position / pageSize + 1);
+        if (page.size() == 0) {
+            // A listagem encolheu entre os dois pedidos
+            return first.size() == 0 ? OptionalInt.empty() : OptionalInt.of(first.numbers()[random.nextInt(first.size())]);
+        }
+        return OptionalInt.of(page.numbers()[Math.min(position % pageSize, page.size() - 1)]);
+    }
+
+    private GitHubSearch.Page page(TtlCache<String, GitHubSearch.Page> pages, String query, int pageNumber) throws IOException {
+        return pages.get(query + "#" + pageNumber, listingTtl, () -> search.issues(query, pageNumber, pageSize));
+    }
+}
@@ -0,0 +1,121 @@
+package main.java.com.devutilities.automation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Fetches single pages of the GitHub issue search ({@code /search/issues}).
+ * <p>
+ * Unlike the paged listings of the API client, a search page reports the total number of
+ * matches, so a caller can jump straight to any page without walking the ones before it.
+ * Requests go through the same {@link GitHubConnector} as the client, and so through its cache.
+ */
+final class GitHubSearch {
+
+    /** GitHub only serves the first 1000 results of any search. */
+    static final int MAX_RESULTS = 1000;
+
+    /** One page of results: the total match count plus each item's number. */
+    record Page(int totalCount, int[] numbers) {
+        int size() {
+            return numbers.length;
+        }
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final GitHubConnector connector;
+    private final String apiUrl;
+    private final String token;
+
+    GitHubSearch(GitHubConnector connector, String apiUrl, String token) {
+        this.connector = connector;
+        this.apiUrl = apiUrl.endsWith("/") ? apiUrl.substring(0, apiUrl.length() - 1) : apiUrl;
+        this.token = token;
+    }
+
+    /** Returns page {@code page} (1-based) of {@code query} with {@code perPage} items per page. */
+    Page issues(String query, int page, int perPage) throws IOException {
+        URL url = URI.create(apiUrl + "/search/issues?q=" + URLEncoder.encode(query, StandardCharsets.UTF_8)
+                + "&per_page=" + perPage + "&page=" + page).toURL();
+        try (GitHubConnectorResponse response = connector.send(new GetRequest(url, token))) {
+            JsonNode root;
+            try (InputStream body = response.bodyStream()) {
+                root = body == null ? null : MAPPER.readTree(body);
+            }
+            if (response.statusCode() != 200 || root == null) {
+                String message = root == null ? "" : root.path("message").asText("");
+                throw new IOException("GitHub search failed with HTTP " + response.statusCode() + ": " + message);
+            }
+            JsonNode items = root.path("items");
+            int[] numbers = new int[items.size()];
+            int i = 0;
+            for (JsonNode item : items) {
+                numbers[i++] = item.path("number").asInt();
+            }
+            return new Page(root.path("total_count").asInt(), numbers);
+        }
+    }
+
+    private static final class GetRequest implements GitHubConnectorRequest {
+        private final URL url;
+        private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        GetRequest(URL url, String token) {
+            this.url = url;
+            headers.put("Accept", List.of("application/vnd.github+json"));
+            if (token != null && !token.isBlank()) {
+                headers.put("Authorization", List.of("token " + token));
+            }
+        }
+
+        @Override
+        public String method() {
+            return "GET";
+        }
+
+        @Override
+        public Map<String, List<String>> allHeaders() {
+            return headers;
+        }
+
+        @Override
+        public String header(String name) {
+            List<String> values = headers.get(name);
+            return values == null || values.isEmpty() ? null : String.join(",", values);
+        }
+
+        @Override
+        public String contentType() {
+            return null;
+        }
+
+        @Override
+        public InputStream body() {
+            return null;
+        }
+
+        @Override
+        public URL url() {
+            return url;
+        }
+
+        @Override
+        public boolean hasBody() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package main.java.com.devutilities.automation;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Starts git processes and completes a future with their {@link Result}.
+ * <p>
+ * Output (stderr merged into stdout) is drained on a virtual thread through a
+ * {@link ReadableByteChannel} into fixed buffers, decoded as UTF-8 and handed over line by line;
+ * at most {@code outputLimit} characters of it are kept in the result. A process still running
+ * after its timeout, or whose future is cancelled, is terminated with everything it started (see
+ * {@link TaskScheduler#destroy}). The process is tied to the calling task, so cancelling the task
+ * terminates it too.
+ */
+final class GitProcessExecutor {
+
+    /** How a process ended; {@code exitCode} is -1 if it was killed before exiting on its own. */
+    record Result(List<String> command, int exitCode, String output, boolean truncated, boolean timedOut,
+                  long elapsedNanos) {
+        boolean isSuccess() {
+            return exitCode == 0 && !timedOut;
+        }
+    }
+
+    /** A running process: its stdin, and its {@link Result} once it has exited. */
+    record Piped(OutputStream input, CompletableFuture<Result> result) {}
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private static final ScheduledExecutorService TIMEOUTS = createTimeoutScheduler();
+
+    private final Metrics metrics;
+    private final int outputLimit;
+
+    GitProcessExecutor(Metrics metrics, int outputLimit) {
+        this.metrics = metrics;
+        this.outputLimit = outputLimit;
+    }
+
+    private static ScheduledExecutorService createTimeoutScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "git-process-timeouts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return Executors.unconfigurableScheduledExecutorService(scheduler);
+    }
+
+    /**
+     * Starts {@code processBuilder}; {@code lines} (may be null) receives each output line on the
+     * draining thread. A zero {@code timeout} means none.
+     */
+    CompletableFuture<Result> start(ProcessBuilder processBuilder, Duration timeout, Consumer<String> lines) throws IOException {
+        Piped piped = startPiped(processBuilder, timeout, lines);
+        // Nada é escrito no stdin: um git que pedisse credenciais recebe EOF em vez de esperar
+        piped.input().close();
+        return piped.result();
+    }
+
+    /**
+     * Like {@link #start}, but leaves stdin open for the caller to write to; the process sees
+     * the end of its input once {@code input} is closed.
+     */
+    Piped startPiped(ProcessBuilder processBuilder, Duration timeout, Consumer<String> lines) throws IOException {
+        List<String> command = List.copyOf(processBuilder.command());
+        String subcommand = subcommand(command);
+        processBuilder.redirectErrorStream(true);
+        long startNanos = System.nanoTime();
+        Process process = processBuilder.start();
+        metrics.record("git.spawn." + subcommand, System.nanoTime() - startNanos);
+        Runnable detach = TaskScheduler.attachProcess(process);
+
+        CompletableFuture<Result> result = new CompletableFuture<>();
+        AtomicBoolean timedOut = new AtomicBoolean();
+        ScheduledFuture<?> timer = timeout.isZero() || timeout.isNegative() ? null : TIMEOUTS.schedule(() -> {
+            timedOut.set(true);
+            TaskScheduler.destroy(process);
+        }, timeout.toNanos(), TimeUnit.NANOSECONDS);
+        result.whenComplete((r, e) -> {
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            if (result.isCancelled()) {
+                TaskScheduler.destroy(process);
+            }
+            detach.run();
+        });
+
+        Thread.ofVirtual().name("git-" + subcommand + "-output").start(() -> {
+            try {
+                StringBuilder output = new StringBuilder();
+                boolean truncated = drain(process, output, lines);
+                int exitCode = process.waitFor();
+                if (timedOut.get() || result.isCancelled()) {
+                    exitCode = -1;
+                }
+                long elapsedNanos = System.nanoTime() - startNanos;
+                metrics.record("git.run." + subcommand, elapsedNanos);
+                result.complete(new Result(command, exitCode, output.toString(), truncated, timedOut.get(), elapsedNanos));
+            } catch (IOException | InterruptedException | RuntimeException e) {
+                TaskScheduler.destroy(process);
+                result.completeExceptionally(e);
+            }
+        });
+        return new Piped(process.getOutputStream(), result);
+    }
+
+    /** Starts {@code processBuilder} and waits for it; being interrupted kills the process. */
+    Result run(ProcessBuilder processBuilder, Duration timeout, Consumer<String> lines) throws IOException {
+        return await(start(processBuilder, timeout, lines), processBuilder.command());
+    }
+
+    /** Waits for a started {@code command}; being interrupted kills it. */
+    static Result await(CompletableFuture<Result> result, List<String> command) throws IOException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while running " + String.join(" ", command));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Could not run " + String.join(" ", command), e.getCause());
+        }
+    }
+
+    /** Reads the output to its end; returns true if more than {@code outputLimit} characters were dropped. */
+    private boolean drain(Process process, StringBuilder output, Consumer<String> lines) throws IOException {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+        StringBuilder line = new StringBuilder();
+        boolean truncated = false;
+        try (ReadableByteChannel channel = Channels.newChannel(process.getInputStream())) {
+            boolean eof = false;
+            while (!eof) {
+                eof = channel.read(bytes) < 0;
+                bytes.flip();
+                decoder.decode(bytes, chars, eof);
+                if (eof) {
+                    decoder.flush(chars);
+                }
+                bytes.compact();
+                chars.flip();
+                while (chars.hasRemaining()) {
+                    char c = chars.get();
+                    if (output.length() < outputLimit) {
+                        output.append(c);
+                    } else {
+                        truncated = true;
+                    }
+                    if (c == '\n') {
+                        emit(line, lines);
+                    } else if (c != '\r' && line.length() < outputLimit) {
+                        line.append(c);
+                    }
+                }
+                chars.clear();
+            }
+        }
+        if (!line.isEmpty()) {
+            emit(line, lines);
+        }
+        return truncated;
+    }
+
+    private static void emit(StringBuilder line, Consumer<String> lines) {
+        if (lines != null) {
+            lines.accept(line.toString());
+        }
+        line.setLength(0);
+    }
+
+    /** {@code commit} for {@code git -c x=y commit -m ...}; the program name for anything else. */
+    static String subcommand(List<String> command) {
+        if (command.isEmpty() || !command.get(0).equals("git")) {
+            return command.isEmpty() ? "unknown" : command.get(0);
+        }
+        for (int i = 1; i < command.size(); i++) {
+            String arg = command.get(i);
+            if (arg.equals("-c") || arg.equals("-C")) {
+                i++;
+            } else if (!arg.startsWith("-")) {
+                return arg;
+            }
+        }
+        return "git";
+    }
+}
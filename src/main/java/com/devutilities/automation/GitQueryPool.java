@@ -0,0 +1,206 @@
+package main.java.com.devutilities.automation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Long-lived {@code git cat-file --batch} processes answering read-only object lookups.
+ * <p>
+ * Resolving a revision or reading a commit costs a line written to a running process instead of
+ * a fork and exec of git. Up to {@code size} processes are started on demand and reused; each
+ * serves one caller at a time. Refs are read again on every lookup, and objects written since
+ * the process started (by commits, fast-import or fetches) are found as well.
+ */
+final class GitQueryPool implements Closeable {
+
+    /** An object as stored by git: its id, type ({@code commit}, {@code blob}...) and raw content. */
+    record GitObject(String id, String type, byte[] content) {
+        String text() {
+            return new String(content, StandardCharsets.UTF_8);
+        }
+    }
+
+    /** One {@code cat-file} process and its pipes. */
+    private static final class BatchProcess {
+        final Process process;
+        final OutputStream in;
+        final InputStream out;
+
+        BatchProcess(Process process) {
+            this.process = process;
+            this.in = new BufferedOutputStream(process.getOutputStream());
+            this.out = new BufferedInputStream(process.getInputStream());
+        }
+    }
+
+    private final File workDir;
+    private final Metrics metrics;
+    private final BlockingQueue<BatchProcess> idle;
+    private final Semaphore permits;
+    private final List<BatchProcess> started = new ArrayList<>();
+    private boolean closed;
+
+    GitQueryPool(File workDir, int size, Metrics metrics) {
+        this.workDir = workDir;
+        this.metrics = metrics;
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, size));
+        this.permits = new Semaphore(Math.max(1, size));
+    }
+
+    /** The object {@code revision} names ({@code HEAD}, {@code main~2:notes.txt}...), or null if there is none. */
+    GitObject read(String revision) throws IOException {
+        if (revision.isEmpty() || revision.indexOf('\n') >= 0) {
+            return null;
+        }
+        long startNanos = System.nanoTime();
+        BatchProcess batch = borrow();
+        boolean healthy = false;
+        try {
+            batch.in.write((revision + "\n").getBytes(StandardCharsets.UTF_8));
+            batch.in.flush();
+            // "<id> <type> <size>" ou "<revisão> missing"
+            String[] header = readLine(batch.out).split(" ");
+            GitObject object = null;
+            if (header.length == 3) {
+                byte[] content = batch.out.readNBytes(Integer.parseInt(header[2]));
+                if (content.length != Integer.parseInt(header[2]) || batch.out.read() != '\n') {
+                    throw new EOFException("git cat-file ended in the middle of " + revision);
+                }
+                object = new GitObject(header[0], header[1], content);
+            }
+            healthy = true;
+            return object;
+        } catch (NumberFormatException e) {
+            throw new IOException("Unexpected git cat-file output for " + revision, e);
+        } finally {
+            giveBack(batch, healthy);
+            metrics.record("git.query.cat-file", System.nanoTime() - startNanos);
+        }
+    }
+
+    /** The full object id {@code revision} resolves to, or an empty string if it does not exist. */
+    String resolve(String revision) throws IOException {
+        GitObject object = read(revision);
+        return object == null ? "" : object.id();
+    }
+
+    /** The author timestamp of the commit {@code revision} names, or -1 if there is no such commit. */
+    long authorEpochSecond(String revision) throws IOException {
+        GitObject object = read(revision);
+        if (object == null || !object.type().equals("commit")) {
+            return -1;
+        }
+        for (String line : object.text().split("\n")) {
+            if (line.isEmpty()) {
+                break;
+            }
+            if (line.startsWith("author ")) {
+                // "author Name <email> 1700000000 +0000"
+                String[] parts = line.substring(line.lastIndexOf('>') + 1).trim().split(" ");
+                return Long.parseLong(parts[0]);
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() {
+        List<BatchProcess> processes;
+        synchronized (this) {
+            closed = true;
+            processes = new ArrayList<>(started);
+            started.clear();
+        }
+        idle.clear();
+        for (BatchProcess batch : processes) {
+            // stdin fechado: o cat-file termina sozinho
+            try {
+                batch.in.close();
+            } catch (IOException e) {
+                batch.process.destroy();
+            }
+        }
+    }
+
+    private BatchProcess borrow() throws IOException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a git query process", e);
+        }
+        BatchProcess batch = idle.poll();
+        if (batch != null && batch.process.isAlive()) {
+            return batch;
+        }
+        if (batch != null) {
+            synchronized (this) {
+                started.remove(batch);
+            }
+        }
+        try {
+            return startProcess();
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void giveBack(BatchProcess batch, boolean healthy) {
+        boolean keep;
+        synchronized (this) {
+            keep = healthy && !closed;
+            if (!keep) {
+                started.remove(batch);
+            }
+        }
+        if (keep) {
+            idle.offer(batch);
+        } else {
+            batch.process.destroyForcibly();
+        }
+        permits.release();
+    }
+
+    private BatchProcess startProcess() throws IOException {
+        ProcessBuilder pb = new ProcessBuilder("git", "cat-file", "--batch");
+        pb.directory(workDir);
+        pb.redirectError(ProcessBuilder.Redirect.DISCARD);
+        long startNanos = System.nanoTime();
+        BatchProcess batch = new BatchProcess(pb.start());
+        metrics.record("git.spawn.cat-file", System.nanoTime() - startNanos);
+        synchronized (this) {
+            if (closed) {
+                batch.process.destroyForcibly();
+                throw new IOException("The git query pool is closed");
+            }
+            started.add(batch);
+        }
+        return batch;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                throw new EOFException("git cat-file exited");
+            }
+            line.write(b);
+        }
+        return line.toString(StandardCharsets.UTF_8);
+    }
+}
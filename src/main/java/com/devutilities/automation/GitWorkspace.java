@@ -0,0 +1,211 @@
+package main.java.com.devutilities.automation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The local git repository the simulator commits to, and the git processes run against it.
+ * <p>
+ * Output of every process is forwarded line by line to the {@link LogSink}; failures are logged
+ * and returned, not thrown, so a workflow carries on the way it would from the command line.
+ */
+final class GitWorkspace implements AutoCloseable {
+
+    static final String NOTES_FILE = "notes.txt";
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(10);
+    private static final int OUTPUT_LIMIT = 64 * 1024;
+    private static final int QUERY_PROCESSES = 2;
+
+    private final File workDir;
+    private final LogSink log;
+    private final GitProcessExecutor executor;
+    private final GitQueryPool queries;
+    private final RepoLockManager locks;
+    private volatile Function<String, Duration> timeouts = subcommand -> DEFAULT_TIMEOUT;
+    private volatile String authorName;
+    private volatile String authorEmail;
+
+    GitWorkspace(File workDir, LogSink log) {
+        this(workDir, log, new Metrics());
+    }
+
+    /** Spawn and run times of every git process go to {@code metrics} as {@code git.spawn.<subcommand>} and {@code git.run.<subcommand>}. */
+    GitWorkspace(File workDir, LogSink log, Metrics metrics) {
+        this.workDir = workDir;
+        this.log = log;
+        this.executor = new GitProcessExecutor(metrics, OUTPUT_LIMIT);
+        this.queries = new GitQueryPool(workDir, QUERY_PROCESSES, metrics);
+        this.locks = new RepoLockManager(log, metrics);
+    }
+
+    File getWorkDir() {
+        return workDir;
+    }
+
+    Path notesFile() {
+        return workDir.toPath().resolve(NOTES_FILE);
+    }
+
+    /** Where the commit history run keeps its {@link GenerationJournal}, inside {@code .git}. */
+    Path journalFile() {
+        return workDir.toPath().resolve(".git").resolve("devutilities").resolve("commit-history.journal");
+    }
+
+    /** Read-only object lookups served by long-lived {@code git cat-file} processes. */
+    GitQueryPool queries() {
+        return queries;
+    }
+
+    /** Stops the query processes; commands still run, but {@link #queries()} lookups fail from now on. */
+    @Override
+    public void close() {
+        queries.close();
+    }
+
+    /** Locks that tasks sharing this repository take around the state they change. */
+    RepoLockManager locks() {
+        return locks;
+    }
+
+    /** How long a git command may run, by subcommand ({@code push}, {@code commit}...); zero means no limit. */
+    void setTimeouts(Function<String, Duration> timeouts) {
+        this.timeouts = timeouts;
+    }
+
+    /** Identity used for commits; when unset, git's own configuration applies. */
+    void setAuthor(String name, String email) {
+        this.authorName = name;
+        this.authorEmail = email;
+    }
+
+    String getAuthorName() {
+        return authorName;
+    }
+
+    String getAuthorEmail() {
+        return authorEmail;
+    }
+
+    void initializeRepository() {
+        if (!new File(workDir, ".git").exists()) {
+            log.log("log.repo_init", LogLevel.INFO);
+            executeGitCommand("init");
+            executeGitCommand("branch", "-M", "main");
+        }
+    }
+
+    void createNotesFileIfNotExists() {
+        Path filePath = notesFile();
+        if (!Files.exists(filePath)) {
+            try {
+                Files.createFile(filePath);
+            } catch (IOException e) {
+                log.log("log.file_error", LogLevel.ERROR, e.getMessage());
+            }
+        }
+    }
+
+    NotesAppender openNotesAppender(NotesAppender.SyncPolicy syncPolicy) throws IOException {
+        return NotesAppender.open(notesFile(), syncPolicy);
+    }
+
+    /**
+     * Appends {@code content} to {@code notes.txt} and commits it with the given date. Throws if
+     * {@code git add} or {@code git commit} fails, so the caller never counts a commit that was not made.
+     */
+    void createCommit(NotesAppender notes, String message, String content, LocalDateTime commitDateTime) throws IOException {
+        notes.append(content);
+        notes.append("\n");
+        notes.flush();
+        requireSuccess(executeGitCommand("add", NOTES_FILE));
+        String formattedDate = commitDateTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+
+        ProcessBuilder pb = new ProcessBuilder("git", "commit", "-m", message);
+
+        String name = authorName;
+        String email = authorEmail;
+        if (name != null && email != null && !email.isEmpty()) {
+            pb.environment().put("GIT_AUTHOR_NAME", name);
+            pb.environment().put("GIT_AUTHOR_EMAIL", email);
+            pb.environment().put("GIT_COMMITTER_NAME", name);
+            pb.environment().put("GIT_COMMITTER_EMAIL", email);
+        }
+
+        pb.environment().put("GIT_AUTHOR_DATE", formattedDate);
+        pb.environment().put("GIT_COMMITTER_DATE", formattedDate);
+
+        requireSuccess(executeProcess(pb));
+    }
+
+    private static void requireSuccess(GitProcessExecutor.Result result) throws IOException {
+        if (!result.isSuccess()) {
+            throw new IOException(String.join(" ", result.command())
+                    + (result.timedOut() ? " timed out" : " failed with exit code " + result.exitCode()));
+        }
+    }
+
+    GitProcessExecutor.Result executeGitCommand(String... commands) {
+        String[] fullCommand = new String[commands.length + 1];
+        fullCommand[0] = "git";
+        System.arraycopy(commands, 0, fullCommand, 1, commands.length);
+        return executeProcess(new ProcessBuilder(fullCommand));
+    }
+
+    /** Runs git and returns its trimmed output, or an empty string if it fails; nothing is logged. */
+    String readGit(String... args) throws IOException {
+        String[] command = new String[args.length + 1];
+        command[0] = "git";
+        System.arraycopy(args, 0, command, 1, args.length);
+        ProcessBuilder processBuilder = new ProcessBuilder(command).directory(workDir);
+        GitProcessExecutor.Result result = executor.run(processBuilder, timeoutFor(processBuilder.command()), null);
+        return result.isSuccess() ? result.output().trim() : "";
+    }
+
+    /**
+     * Starts git with its stdin left open for the caller to feed; its output is kept in the
+     * result, not logged. Timeouts and cancellation apply as to any other git command.
+     */
+    GitProcessExecutor.Piped startGitWithInput(String... args) throws IOException {
+        TaskScheduler.checkCancelled();
+        String[] command = new String[args.length + 1];
+        command[0] = "git";
+        System.arraycopy(args, 0, command, 1, args.length);
+        ProcessBuilder processBuilder = new ProcessBuilder(command).directory(workDir);
+        return executor.startPiped(processBuilder, timeoutFor(processBuilder.command()), null);
+    }
+
+    /**
+     * Runs a process in the repository, logging each line of its output and any failure; the
+     * result says how it ended. Interruption kills the process and leaves the thread interrupted.
+     */
+    GitProcessExecutor.Result executeProcess(ProcessBuilder processBuilder) {
+        TaskScheduler.checkCancelled();
+        processBuilder.directory(workDir);
+        List<String> command = processBuilder.command();
+        Duration timeout = timeoutFor(command);
+        try {
+            GitProcessExecutor.Result result = executor.run(processBuilder, timeout, line -> log.log(line, LogLevel.GIT_CMD));
+            if (result.timedOut()) {
+                log.log("log.git_command_timeout", LogLevel.ERROR, String.join(" ", command), timeout.toSeconds());
+            } else if (result.exitCode() != 0) {
+                log.log("log.git_command_failed", LogLevel.ERROR, String.join(" ", command));
+            }
+            return result;
+        } catch (IOException e) {
+            log.log("log.git_command_error", LogLevel.ERROR, e.getMessage());
+            return new GitProcessExecutor.Result(List.copyOf(command), -1, "", false, false, 0);
+        }
+    }
+
+    private Duration timeoutFor(List<String> command) {
+        return timeouts.apply(GitProcessExecutor.subcommand(command));
+    }
+}
@@ -0,0 +1,237 @@
+package main.java.com.devutilities.automation;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Bounded two-level store of HTTP responses keyed by request, used to revalidate with ETags.
+ * <p>
+ * Recent entries are kept in memory, all entries on disk; both levels are bounded in bytes and
+ * evict the least recently used entry first. Disk failures only cost a cache miss.
+ */
+final class HttpResponseCache {
+
+    /** A cached response: its validator, headers and decoded body. */
+    record Entry(String etag, Map<String, List<String>> headers, byte[] body) {
+        long size() {
+            return body.length + 512L;
+        }
+    }
+
+    private static final int FILE_MAGIC = 0x44554331;
+
+    private final long maxMemoryBytes;
+    private final long maxDiskBytes;
+    private final Path directory;
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes;
+    private long diskBytes = -1;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    /** @param directory where entries are persisted, or {@code null} for a memory-only cache */
+    HttpResponseCache(Path directory, long maxMemoryBytes, long maxDiskBytes) {
+        this.directory = directory;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.maxDiskBytes = maxDiskBytes;
+    }
+
+    synchronized Entry get(String key) {
+        Entry entry = memory.get(key);
+        if (entry == null && directory != null) {
+            entry = readFromDisk(key);
+            if (entry != null) {
+                putInMemory(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    synchronized void put(String key, Entry entry) {
+        putInMemory(key, entry);
+        if (directory != null) {
+            writeToDisk(key, entry);
+        }
+    }
+
+    void recordHit(long savedBytes) {
+        hits.incrementAndGet();
+        bytesSaved.addAndGet(savedBytes);
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    double getHitRatio() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    private void putInMemory(String key, Entry entry) {
+        Entry previous = memory.put(key, entry);
+        if (previous != null) {
+            memoryBytes -= previous.size();
+        }
+        memoryBytes += entry.size();
+        Iterator<Map.Entry<String, Entry>> eldest = memory.entrySet().iterator();
+        while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+            memoryBytes -= eldest.next().getValue().size();
+            eldest.remove();
+        }
+    }
+
+    private Entry readFromDisk(String key) {
+        Path file = fileFor(key);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (in.readInt() != FILE_MAGIC || !in.readUTF().equals(key)) {
+                return null;
+            }
+            String etag = in.readUTF();
+            int headerCount = in.readInt();
+            Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (int i = 0; i < headerCount; i++) {
+                String name = in.readUTF();
+                int valueCount = in.readInt();
+                List<String> values = new ArrayList<>(valueCount);
+                for (int j = 0; j < valueCount; j++) {
+                    values.add(in.readUTF());
+                }
+                headers.put(name, values);
+            }
+            byte[] body = in.readNBytes(in.readInt());
+            // Marca o acesso para a remoção LRU do disco
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return new Entry(etag, headers, body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, Entry entry) {
+        try {
+            Files.createDirectories(directory);
+            Path file = fileFor(key);
+            Path temp = Files.createTempFile(directory, "entry", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeUTF(key);
+                out.writeUTF(entry.etag());
+                out.writeInt(entry.headers().size());
+                for (Map.Entry<String, List<String>> header : entry.headers().entrySet()) {
+                    out.writeUTF(header.getKey());
+                    out.writeInt(header.getValue().size());
+                    for (String value : header.getValue()) {
+                        out.writeUTF(value);
+                    }
+                }
+                out.writeInt(entry.body().length);
+                out.write(entry.body());
+            }
+            long previousSize = Files.exists(file) ? Files.size(file) : 0;
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (diskBytes < 0) {
+                diskBytes = directorySize();
+            } else {
+                diskBytes += Files.size(file) - previousSize;
+            }
+            evictFromDisk();
+        } catch (IOException e) {
+            // Sem cache em disco: a entrada continua em memória
+        }
+    }
+
+    private void evictFromDisk() throws IOException {
+        if (diskBytes <= maxDiskBytes) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = new ArrayList<>(stream.filter(p -> p.getFileName().toString().endsWith(".entry")).toList());
+        }
+        files.sort(Comparator.comparing(HttpResponseCache::lastModified));
+        for (Path file : files) {
+            if (diskBytes <= maxDiskBytes) {
+                break;
+            }
+            long size = Files.size(file);
+            Files.deleteIfExists(file);
+            diskBytes -= size;
+        }
+    }
+
+    private long directorySize() throws IOException {
+        try (Stream<Path> stream = Files.list(directory)) {
+            long total = 0;
+            for (Path file : (Iterable<Path>) stream::iterator) {
+                if (file.getFileName().toString().endsWith(".entry")) {
+                    total += Files.size(file);
+                }
+            }
+            return total;
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private Path fileFor(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(digest) + ".entry");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Copies {@code in} fully; used by callers to buffer a response body before caching it. */
+    static byte[] readAll(InputStream in) throws IOException {
+        if (in == null) {
+            return new byte[0];
+        }
+        try (InputStream body = in) {
+            return body.readAllBytes();
+        }
+    }
+}
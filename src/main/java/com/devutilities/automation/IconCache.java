@@ -0,0 +1,107 @@
+package main.java.com.devutilities.automation;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Decodes and scales icons off the EDT and caches them by path and size.
+ * <p>
+ * Icons are looked up on the classpath first and then under {@code src/main/resources}, the
+ * same way {@link MessageCatalog} finds the language files. A failed load is not cached, so a
+ * later request retries it.
+ */
+final class IconCache {
+
+    private static final String[] CLASSPATH_LOCATIONS = {"/%s", "/main/resources/%s"};
+    private static final String SOURCE_LOCATION = "src/main/resources/%s";
+
+    private static final Map<String, CompletableFuture<ImageIcon>> ICONS = new ConcurrentHashMap<>();
+    private static final ExecutorService LOADER = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "icon-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private IconCache() {
+    }
+
+    /**
+     * Returns the icon at {@code path} scaled to {@code width}x{@code height}. The future fails
+     * with a {@link FileNotFoundException} cause if the icon does not exist.
+     */
+    static CompletableFuture<ImageIcon> load(String path, int width, int height) {
+        String key = path + "@" + width + "x" + height;
+        CompletableFuture<ImageIcon> icon = ICONS.computeIfAbsent(key,
+                k -> CompletableFuture.supplyAsync(() -> decode(path, width, height), LOADER));
+        icon.whenComplete((result, error) -> {
+            if (error != null) {
+                ICONS.remove(key, icon);
+            }
+        });
+        return icon;
+    }
+
+    private static ImageIcon decode(String path, int width, int height) {
+        try (InputStream input = open(path)) {
+            BufferedImage source = ImageIO.read(input);
+            if (source == null) {
+                throw new IOException("Unsupported image format: " + path);
+            }
+            return new ImageIcon(scale(source, width, height));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static InputStream open(String path) throws IOException {
+        for (String location : CLASSPATH_LOCATIONS) {
+            InputStream input = IconCache.class.getResourceAsStream(String.format(location, path));
+            if (input != null) {
+                return input;
+            }
+        }
+        Path sourceFile = Paths.get(String.format(SOURCE_LOCATION, path));
+        if (!Files.exists(sourceFile)) {
+            throw new FileNotFoundException(sourceFile.toString());
+        }
+        return Files.newInputStream(sourceFile);
+    }
+
+    /** Halves the image until close to the target, then draws it bicubically; comparable to SCALE_SMOOTH. */
+    private static BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            if (currentWidth < width * 2 && currentHeight < height * 2) {
+                currentWidth = width;
+                currentHeight = height;
+            }
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2 = step.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            g2.dispose();
+            current = step;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+}
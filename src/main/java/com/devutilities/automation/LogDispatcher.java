@@ -0,0 +1,103 @@
+package main.java.com.devutilities.automation;
+
+import javax.swing.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects log items from any thread and hands them to the EDT in one batch per frame.
+ * <p>
+ * The queue is bounded: when producers outrun the UI, new items are dropped and the number
+ * of dropped items is passed to the sink with the next batch so it can summarize them.
+ */
+final class LogDispatcher<T> {
+
+    /** Receives a drained batch on the EDT, plus how many items were dropped since the last one. */
+    interface BatchSink<T> {
+        void accept(List<T> batch, long dropped);
+    }
+
+    private static final int FRAME_MILLIS = 16;
+
+    private final int capacity;
+    private final BatchSink<T> sink;
+    private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicLong droppedSinceFlush = new AtomicLong();
+    private final Timer frameTimer;
+
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong flushedCount = new AtomicLong();
+
+    LogDispatcher(int capacity, BatchSink<T> sink) {
+        this.capacity = capacity;
+        this.sink = sink;
+        this.frameTimer = new Timer(FRAME_MILLIS, e -> flush());
+        this.frameTimer.setRepeats(false);
+        // Um restart() vindo de outra thread enquanto o disparo anterior ainda está na fila do EDT
+        // seria fundido com ele e perdido, deixando a fila parada
+        this.frameTimer.setCoalesce(false);
+    }
+
+    /**
+     * Queues {@code item} for the next frame. Returns {@code false} if the queue is full and the
+     * item was dropped.
+     */
+    boolean offer(T item) {
+        if (pending.incrementAndGet() > capacity) {
+            pending.decrementAndGet();
+            droppedCount.incrementAndGet();
+            droppedSinceFlush.incrementAndGet();
+            scheduleFlush();
+            return false;
+        }
+        queue.offer(item);
+        queuedCount.incrementAndGet();
+        scheduleFlush();
+        return true;
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            frameTimer.restart();
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        List<T> batch = new ArrayList<>(Math.min(pending.get(), capacity));
+        T item;
+        while ((item = queue.poll()) != null) {
+            batch.add(item);
+        }
+        pending.addAndGet(-batch.size());
+        long dropped = droppedSinceFlush.getAndSet(0);
+        if (batch.isEmpty() && dropped == 0) {
+            return;
+        }
+        flushedCount.addAndGet(batch.size());
+        sink.accept(batch, dropped);
+    }
+
+    long getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    long getFlushedCount() {
+        return flushedCount.get();
+    }
+
+    int getPendingCount() {
+        return pending.get();
+    }
+}
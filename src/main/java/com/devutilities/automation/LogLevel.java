@@ -0,0 +1,4 @@
+package main.java.com.devutilities.automation;
+
+/** Severity of a log line; decides its colour in the GUI and its prefix on the console. */
+enum LogLevel { INFO, SUCCESS, ERROR, GIT_CMD }
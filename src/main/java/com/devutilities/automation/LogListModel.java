@@ -0,0 +1,109 @@
+package main.java.com.devutilities.automation;
+
+import javax.swing.AbstractListModel;
+import java.util.Arrays;
+import java.util.function.BiFunction;
+
+/**
+ * Fixed-capacity ring buffer of log entries exposed as a {@link javax.swing.ListModel}.
+ * <p>
+ * Appending is O(1); once full, the oldest entry is overwritten. Entries keep their message
+ * key and arguments and are only formatted when a row is rendered, so switching language just
+ * invalidates the cached text ({@link #relocalize()}) and the visible rows are re-translated on
+ * the next paint. Combined with a {@code JList} using fixed cell sizes only the visible rows are
+ * ever rendered. Must be used from the EDT.
+ */
+final class LogListModel extends AbstractListModel<String> {
+
+    private final BiFunction<String, Object[], String> formatter;
+    private final String[] keys;
+    private final Object[][] args;
+    private final LogLevel[] levels;
+    private final String[] texts;
+    private final int[] textGenerations;
+    private int generation = 1;
+    private int head;
+    private int size;
+
+    LogListModel(int capacity, BiFunction<String, Object[], String> formatter) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.formatter = formatter;
+        this.keys = new String[capacity];
+        this.args = new Object[capacity][];
+        this.levels = new LogLevel[capacity];
+        this.texts = new String[capacity];
+        this.textGenerations = new int[capacity];
+    }
+
+    void append(String key, Object[] arguments, LogLevel level) {
+        int capacity = keys.length;
+        boolean full = size == capacity;
+        int slot = full ? head : (head + size) % capacity;
+        keys[slot] = key;
+        args[slot] = arguments;
+        levels[slot] = level;
+        texts[slot] = null;
+        textGenerations[slot] = 0;
+        if (full) {
+            head = (head + 1) % capacity;
+            fireIntervalRemoved(this, 0, 0);
+        } else {
+            size++;
+        }
+        fireIntervalAdded(this, size - 1, size - 1);
+    }
+
+    /** Drops every cached translation in O(1); rows are re-formatted as they are painted. */
+    void relocalize() {
+        generation++;
+        if (size > 0) {
+            fireContentsChanged(this, 0, size - 1);
+        }
+    }
+
+    void clear() {
+        if (size == 0) {
+            return;
+        }
+        int lastIndex = size - 1;
+        Arrays.fill(keys, null);
+        Arrays.fill(args, null);
+        Arrays.fill(levels, null);
+        Arrays.fill(texts, null);
+        head = 0;
+        size = 0;
+        fireIntervalRemoved(this, 0, lastIndex);
+    }
+
+    LogLevel getLevelAt(int index) {
+        return levels[slot(index)];
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        int slot = slot(index);
+        if (textGenerations[slot] != generation) {
+            texts[slot] = formatter.apply(keys[slot], args[slot]);
+            textGenerations[slot] = generation;
+        }
+        return texts[slot];
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    int getCapacity() {
+        return keys.length;
+    }
+
+    private int slot(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        return (head + index) % keys.length;
+    }
+}
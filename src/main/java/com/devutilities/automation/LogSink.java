@@ -0,0 +1,10 @@
+package main.java.com.devutilities.automation;
+
+/** Destination of log lines: a message key (or raw text such as git output), its level and arguments. */
+@FunctionalInterface
+interface LogSink {
+
+    LogSink NONE = (key, level, args) -> { };
+
+    void log(String key, LogLevel level, Object... args);
+}
@@ -0,0 +1,156 @@
+package main.java.com.devutilities.automation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-locale message catalog loaded from {@code messages_<locale>.properties} on the classpath.
+ * <p>
+ * Every pattern is compiled once when the catalog is loaded: patterns without placeholders are
+ * stored already formatted, the others as a reusable {@link MessageFormat}. Catalogs are cached
+ * per locale and can be warmed in the background with {@link #preload(Locale)}.
+ */
+final class MessageCatalog {
+
+    /** Message argument that is itself a key, translated whenever the enclosing message is formatted. */
+    record Key(String name) {}
+
+    /** Looked up in order: Maven-style classpath root, the project's {@code src} classpath root, the source tree. */
+    private static final String[] CLASSPATH_LOCATIONS = {"/messages_%s.properties", "/main/resources/messages_%s.properties"};
+    private static final String SOURCE_LOCATION = "src/main/resources/messages_%s.properties";
+
+    private static final Map<Locale, CompletableFuture<MessageCatalog>> CATALOGS = new ConcurrentHashMap<>();
+
+    private final Locale locale;
+    private final Map<String, String> rawMessages;
+    private final Map<String, String> literals = new HashMap<>();
+    private final Map<String, MessageFormat> formats = new HashMap<>();
+
+    private MessageCatalog(Locale locale, Map<String, String> rawMessages) {
+        this.locale = locale;
+        this.rawMessages = rawMessages;
+        for (Map.Entry<String, String> entry : rawMessages.entrySet()) {
+            MessageFormat format = new MessageFormat(entry.getValue(), locale);
+            if (format.getFormatsByArgumentIndex().length == 0) {
+                literals.put(entry.getKey(), format.format(new Object[0]));
+            } else {
+                formats.put(entry.getKey(), format);
+            }
+        }
+    }
+
+    /** Returns the catalog for {@code locale}, loading and compiling it on first use. */
+    static MessageCatalog forLocale(Locale locale) {
+        try {
+            return load(locale).join();
+        } catch (CompletionException e) {
+            CATALOGS.remove(locale);
+            if (e.getCause() instanceof MissingResourceException missing) {
+                throw missing;
+            }
+            throw e;
+        }
+    }
+
+    /** Starts loading {@code locale} in the background so a later {@link #forLocale} returns at once. */
+    static void preload(Locale locale) {
+        load(locale).exceptionally(e -> {
+            CATALOGS.remove(locale);
+            return null;
+        });
+    }
+
+    private static CompletableFuture<MessageCatalog> load(Locale locale) {
+        return CATALOGS.computeIfAbsent(locale,
+                l -> CompletableFuture.supplyAsync(() -> new MessageCatalog(l, readMessages(l))));
+    }
+
+    private static Map<String, String> readMessages(Locale locale) {
+        String name = locale.toString();
+        Properties properties = new Properties();
+        try (InputStream input = openMessages(name)) {
+            if (input == null) {
+                throw new MissingResourceException("Language file not found: messages_" + name + ".properties",
+                        MessageCatalog.class.getName(), name);
+            }
+            properties.load(new InputStreamReader(input, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            MissingResourceException missing = new MissingResourceException(
+                    "Could not read messages_" + name + ".properties", MessageCatalog.class.getName(), name);
+            missing.initCause(e);
+            throw missing;
+        }
+        Map<String, String> messages = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            messages.put(key, properties.getProperty(key));
+        }
+        return messages;
+    }
+
+    private static InputStream openMessages(String localeName) throws IOException {
+        for (String location : CLASSPATH_LOCATIONS) {
+            InputStream input = MessageCatalog.class.getResourceAsStream(String.format(location, localeName));
+            if (input != null) {
+                return input;
+            }
+        }
+        Path sourceFile = Paths.get(String.format(SOURCE_LOCATION, localeName));
+        return Files.exists(sourceFile) ? Files.newInputStream(sourceFile) : null;
+    }
+
+    Locale getLocale() {
+        return locale;
+    }
+
+    boolean containsKey(String key) {
+        return rawMessages.containsKey(key);
+    }
+
+    /** Returns the raw text for {@code key}, as {@link java.util.ResourceBundle#getString} would. */
+    String getString(String key) {
+        String message = rawMessages.get(key);
+        if (message == null) {
+            throw new MissingResourceException("Missing message: " + key, MessageCatalog.class.getName(), key);
+        }
+        return message;
+    }
+
+    /** Formats {@code key} with {@code args}, translating {@link Key} arguments; unknown keys are returned as-is. */
+    String format(String key, Object... args) {
+        String literal = literals.get(key);
+        if (literal != null) {
+            return literal;
+        }
+        MessageFormat format = formats.get(key);
+        if (format == null) {
+            return key;
+        }
+        Object[] values = args == null ? new Object[0] : args;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof Key nested) {
+                if (values == args) {
+                    values = args.clone();
+                }
+                values[i] = format(nested.name());
+            }
+        }
+        // MessageFormat is not thread-safe; the lock is uncontended in practice
+        synchronized (format) {
+            return format.format(values);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package main.java.com.devutilities.automation;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Latency histograms, counters and gauges of the simulator, by name.
+ * <p>
+ * Names are dotted, for example {@code git.run.commit} or {@code github.GET /repos/{owner}/{repo}}.
+ * Recording is lock-free; a metric is created on first use. {@link #registerMBean()} publishes
+ * everything as one dynamic MBean whose attributes follow the metrics as they appear, so
+ * JConsole or any JMX client sees {@code <name>.count}, {@code .p50Millis}, {@code .p99Millis}
+ * and so on.
+ */
+final class Metrics {
+
+    static final String OBJECT_NAME = "main.java.com.devutilities.automation:type=Metrics";
+
+    /**
+     * Progress of the running commit history, or {@link #IDLE}. {@code commits} and
+     * {@code daysDone} count this session only, so a resumed run extrapolates from its own pace.
+     */
+    record Progress(long commits, long elapsedNanos, long daysDone, long daysLeft, long totalDays) {
+        static final Progress IDLE = new Progress(0, 0, 0, 0, 0);
+
+        boolean isRunning() {
+            return totalDays > 0;
+        }
+
+        double commitsPerSecond() {
+            return elapsedNanos == 0 ? 0 : commits * 1e9 / elapsedNanos;
+        }
+
+        /** Remaining time at the pace of the days done so far; -1 while unknown. */
+        long etaSeconds() {
+            if (daysDone == 0 || elapsedNanos == 0) {
+                return -1;
+            }
+            return (long) (elapsedNanos / 1e9 * daysLeft / daysDone);
+        }
+
+        int percentDone() {
+            return totalDays == 0 ? 0 : (int) ((totalDays - daysLeft) * 100 / totalDays);
+        }
+    }
+
+    private final Map<String, LatencyHistogram> timers = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private volatile Progress progress = Progress.IDLE;
+
+    LatencyHistogram timer(String name) {
+        return timers.computeIfAbsent(name, n -> new LatencyHistogram());
+    }
+
+    void record(String name, long nanos) {
+        timer(name).record(nanos);
+    }
+
+    void increment(String name) {
+        counters.computeIfAbsent(name, n -> new LongAdder()).increment();
+    }
+
+    /** Exposes a value owned elsewhere, read when the metrics are. */
+    void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    Map<String, LatencyHistogram> timers() {
+        return timers;
+    }
+
+    /** Counters and gauges, sorted by name. */
+    Map<String, Long> values() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+        return values;
+    }
+
+    Progress progress() {
+        return progress;
+    }
+
+    void setProgress(Progress progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server; does nothing if another instance
+     * already holds the name.
+     */
+    void registerMBean() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(new MetricsMBean(), new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // um segundo motor no mesmo processo (benchmark) não substitui o primeiro
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private final class MetricsMBean implements DynamicMBean {
+
+        private Map<String, Object> attributes() {
+            Map<String, Object> attributes = new TreeMap<>();
+            timers.forEach((name, timer) -> {
+                attributes.put(name + ".count", timer.getCount());
+                attributes.put(name + ".meanMillis", timer.getMeanNanos() / 1e6);
+                attributes.put(name + ".p50Millis", millis(timer.percentileNanos(50)));
+                attributes.put(name + ".p99Millis", millis(timer.percentileNanos(99)));
+                attributes.put(name + ".maxMillis", millis(timer.getMaxNanos()));
+                attributes.put(name + ".totalMillis", millis(timer.getTotalNanos()));
+            });
+            attributes.putAll(values());
+            Progress current = progress;
+            attributes.put("commitHistory.running", current.isRunning());
+            attributes.put("commitHistory.commits", current.commits());
+            attributes.put("commitHistory.commitsPerSecond", current.commitsPerSecond());
+            attributes.put("commitHistory.percentDone", current.percentDone());
+            attributes.put("commitHistory.etaSeconds", current.etaSeconds());
+            return attributes;
+        }
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            Object value = attributes().get(attribute);
+            if (value == null) {
+                throw new AttributeNotFoundException(attribute);
+            }
+            return value;
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] names) {
+            Map<String, Object> all = attributes();
+            AttributeList list = new AttributeList();
+            for (String name : names) {
+                if (all.containsKey(name)) {
+                    list.add(new Attribute(name, all.get(name)));
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException(attribute.getName() + " is read-only");
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+            throw new ReflectionException(new NoSuchMethodException(actionName));
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            List<MBeanAttributeInfo> infos = new ArrayList<>();
+            attributes().forEach((name, value) -> infos.add(new MBeanAttributeInfo(
+                    name, value.getClass().getName(), name, true, false, false)));
+            return new MBeanInfo(Metrics.class.getName(), "DevUtilities operation metrics",
+                    infos.toArray(new MBeanAttributeInfo[0]), null, null, null);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package main.java.com.devutilities.automation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Long-lived UTF-8 appender for {@code notes.txt}, kept open for a whole generation session.
+ * <p>
+ * Text is encoded into a reused buffer and only reaches the file on {@link #flush()}, which
+ * callers must invoke before staging the file. Not thread-safe: one appender per session.
+ */
+final class NotesAppender implements Closeable {
+
+    /** What {@link #flush()} does after the buffered bytes have been written to the channel. */
+    enum SyncPolicy {
+        /** Leave the bytes in the OS page cache; enough for git to see them. */
+        NONE,
+        /** {@code fsync} file content only. */
+        DATA,
+        /** {@code fsync} file content and metadata. */
+        FULL;
+
+        static SyncPolicy fromProperty(String value) {
+            if (value == null || value.isBlank()) {
+                return NONE;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return NONE;
+            }
+        }
+    }
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final FileChannel channel;
+    private final SyncPolicy syncPolicy;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private NotesAppender(FileChannel channel, SyncPolicy syncPolicy) {
+        this.channel = channel;
+        this.syncPolicy = syncPolicy;
+    }
+
+    static NotesAppender open(Path file, SyncPolicy syncPolicy) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return new NotesAppender(channel, syncPolicy);
+    }
+
+    /** Encodes {@code text} into the session buffer, spilling to the file only when it fills up. */
+    void append(CharSequence text) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(text);
+        encoder.reset();
+        while (encoder.encode(chars, buffer, true).isOverflow()) {
+            drain();
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            drain();
+        }
+    }
+
+    /** Writes all buffered bytes to {@code notes.txt} and applies the configured {@link SyncPolicy}. */
+    void flush() throws IOException {
+        drain();
+        switch (syncPolicy) {
+            case DATA -> channel.force(false);
+            case FULL -> channel.force(true);
+            case NONE -> { }
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
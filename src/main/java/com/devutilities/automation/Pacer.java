@@ -0,0 +1,92 @@
+package main.java.com.devutilities.automation;
+
+import java.time.Duration;
+
+/**
+ * Token bucket that paces a loop to a target rate.
+ * <p>
+ * Tokens accrue at {@code ratePerSecond} up to {@code burst}; {@link #acquire()} takes one,
+ * sleeping only for the part of the interval not already spent by the caller's own work, so the
+ * sustained rate is the requested one whether an operation takes 1 ms or most of its slot.
+ * A slow operation leaves tokens behind that the following ones use, up to {@code burst}.
+ * Not thread-safe: one pacer belongs to one task.
+ */
+public final class Pacer {
+
+    /** Where a pacer reads the time and waits; tests pass one that only pretends to sleep. */
+    public interface Clock {
+        Clock SYSTEM = new Clock() {
+            @Override
+            public long nanoTime() {
+                return System.nanoTime();
+            }
+
+            @Override
+            public void sleep(long nanos) throws InterruptedException {
+                Thread.sleep(Duration.ofNanos(nanos));
+            }
+        };
+
+        long nanoTime();
+
+        void sleep(long nanos) throws InterruptedException;
+    }
+
+    private static final Pacer UNTHROTTLED = new Pacer(0, 1, Clock.SYSTEM);
+
+    private final double ratePerSecond;
+    private final double burst;
+    private final Clock clock;
+    private double tokens;
+    private long lastNanos;
+
+    private Pacer(double ratePerSecond, int burst, Clock clock) {
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.clock = clock;
+        // Começa com um só token: o burst serve para recuperar atrasos, não para adiantar o início
+        this.tokens = 1;
+        this.lastNanos = clock.nanoTime();
+    }
+
+    /** A pacer whose {@link #acquire()} never waits. */
+    public static Pacer unthrottled() {
+        return UNTHROTTLED;
+    }
+
+    /** Paces to {@code ratePerSecond}; zero or less means unthrottled. */
+    public static Pacer of(double ratePerSecond, int burst) {
+        return of(ratePerSecond, burst, Clock.SYSTEM);
+    }
+
+    /** Paces to {@code ratePerSecond} as measured by {@code clock}. */
+    public static Pacer of(double ratePerSecond, int burst, Clock clock) {
+        if (!(ratePerSecond > 0)) {
+            return UNTHROTTLED;
+        }
+        return new Pacer(ratePerSecond, Math.max(1, burst), clock);
+    }
+
+    public boolean isUnthrottled() {
+        return ratePerSecond == 0;
+    }
+
+    /** Waits until a token is available and takes it. */
+    public void acquire() throws InterruptedException {
+        if (isUnthrottled()) {
+            return;
+        }
+        refill();
+        if (tokens < 1) {
+            clock.sleep((long) Math.ceil((1 - tokens) / ratePerSecond * 1e9));
+            refill();
+        }
+        tokens = Math.max(0, tokens - 1);
+    }
+
+    private void refill() {
+        long now = clock.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastNanos) * ratePerSecond / 1e9);
+        lastNanos = now;
+    }
+}
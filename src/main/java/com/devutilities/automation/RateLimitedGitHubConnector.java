@@ -0,0 +1,281 @@
+package main.java.com.devutilities.automation;
+
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link GitHubConnector} that keeps requests inside GitHub's rate limits instead of failing on them.
+ * <p>
+ * The {@code X-RateLimit-*} headers of every response are tracked per resource ({@code core},
+ * {@code search}, {@code graphql}). Once a resource is down to its reserve, further requests wait
+ * for its reset rather than spending round-trips on certain {@code 403}s, and the reserve is left
+ * to other tools sharing the token. Write requests are spaced {@code mutationInterval} apart, as
+ * GitHub recommends against secondary limits.
+ * <p>
+ * A request rejected anyway ({@code 403}/{@code 429} for a primary or secondary limit) was not
+ * executed, so it is sent again after {@code Retry-After}, the reset time or an exponential,
+ * jittered backoff, up to {@code maxRetries} times. Waiting threads can be interrupted; a
+ * cancelled task gets an {@link InterruptedIOException}.
+ */
+final class RateLimitedGitHubConnector implements GitHubConnector {
+
+    private static final Duration SECONDARY_BACKOFF = Duration.ofSeconds(60);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(15);
+    /** Margin for the clock difference between GitHub and this machine. */
+    private static final long RESET_MARGIN_MILLIS = 1_000;
+
+    /** What the last response said about one rate-limit resource. */
+    private static final class Budget {
+        int limit = -1;
+        int remaining = -1;
+        long resetEpochMillis;
+    }
+
+    private final GitHubConnector delegate;
+    private final LogSink log;
+    private final Metrics metrics;
+    private final int reserve;
+    private final int maxRetries;
+    private final long mutationIntervalNanos;
+    private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+    private long nextMutationNanos = System.nanoTime();
+
+    RateLimitedGitHubConnector(GitHubConnector delegate, LogSink log, Metrics metrics,
+                               int reserve, int maxRetries, Duration mutationInterval) {
+        this.delegate = delegate;
+        this.log = log;
+        this.metrics = metrics;
+        this.reserve = Math.max(0, reserve);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.mutationIntervalNanos = mutationInterval.toNanos();
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        // O corpo é lido uma vez só para poder reenviar o pedido
+        GitHubConnectorRequest replayable = request.hasBody() ? new BufferedRequest(request) : request;
+        String resource = resourceOf(request.url().getPath());
+        for (int attempt = 0; ; attempt++) {
+            awaitBudget(resource);
+            if (!"GET".equals(request.method())) {
+                awaitMutationSlot();
+            }
+            GitHubConnectorResponse response = delegate.send(replayable);
+            update(response);
+            if (response.statusCode() != 403 && response.statusCode() != 429) {
+                return response;
+            }
+
+            byte[] body = readBody(response);
+            long delayMillis = retryDelayMillis(response, body, attempt);
+            GitHubConnectorResponse buffered = new CachingGitHubConnector.BufferedResponse(
+                    response.request(), response.statusCode(), response.allHeaders(), body);
+            if (delayMillis < 0 || attempt >= maxRetries) {
+                return buffered;
+            }
+            metrics.increment("github.rate_limit.retries");
+            log.log("log.github.rate_limit_retry", LogLevel.INFO, request.method() + " "
+                    + CachingGitHubConnector.endpoint(request.url().getPath()),
+                    (delayMillis + 999) / 1000, attempt + 1, maxRetries);
+            pause(delayMillis);
+        }
+    }
+
+    /** The rate-limit resource GitHub counts a request against. */
+    static String resourceOf(String path) {
+        if (path.startsWith("/search/")) {
+            return "search";
+        }
+        return path.equals("/graphql") ? "graphql" : "core";
+    }
+
+    /** Waits while the resource is down to its reserve and its window has not reset yet. */
+    private void awaitBudget(String resource) throws IOException {
+        boolean logged = false;
+        while (true) {
+            long waitMillis;
+            Budget budget = budgets.get(resource);
+            if (budget == null) {
+                return;
+            }
+            synchronized (budget) {
+                long untilReset = budget.resetEpochMillis + RESET_MARGIN_MILLIS - System.currentTimeMillis();
+                // Reserva proporcional: a busca só tem 30 pedidos por minuto
+                int keep = budget.limit < 0 ? reserve : Math.min(reserve, budget.limit / 10);
+                if (budget.remaining < 0 || budget.remaining > keep || untilReset <= 0) {
+                    if (budget.remaining >= 0) {
+                        // conta já os pedidos em curso, antes de a resposta chegar
+                        budget.remaining--;
+                    }
+                    return;
+                }
+                waitMillis = untilReset;
+            }
+            if (!logged) {
+                log.log("log.github.rate_limit_wait", LogLevel.INFO, resource, (waitMillis + 999) / 1000);
+                logged = true;
+            }
+            pause(waitMillis);
+        }
+    }
+
+    /** Queues write requests so they start at least {@code mutationInterval} apart. */
+    private void awaitMutationSlot() throws IOException {
+        long startNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            startNanos = Math.max(now, nextMutationNanos);
+            nextMutationNanos = startNanos + mutationIntervalNanos;
+        }
+        long waitNanos = startNanos - System.nanoTime();
+        if (waitNanos > 0) {
+            pause(Duration.ofNanos(waitNanos).toMillis());
+        }
+    }
+
+    private void update(GitHubConnectorResponse response) {
+        String remaining = response.header("X-RateLimit-Remaining");
+        String reset = response.header("X-RateLimit-Reset");
+        if (remaining == null || reset == null) {
+            return;
+        }
+        String resource = response.header("X-RateLimit-Resource");
+        if (resource == null) {
+            resource = resourceOf(response.request().url().getPath());
+        }
+        Budget budget = budgets.computeIfAbsent(resource, name -> {
+            Budget created = new Budget();
+            metrics.gauge("github.rate_limit.remaining." + name, () -> created.remaining);
+            return created;
+        });
+        try {
+            synchronized (budget) {
+                budget.remaining = Integer.parseInt(remaining.trim());
+                budget.resetEpochMillis = Long.parseLong(reset.trim()) * 1000;
+                String limit = response.header("X-RateLimit-Limit");
+                if (limit != null) {
+                    budget.limit = Integer.parseInt(limit.trim());
+                }
+            }
+        } catch (NumberFormatException e) {
+            // cabeçalho inesperado: continua sem limite conhecido
+        }
+    }
+
+    /**
+     * How long to wait before retrying a {@code 403}/{@code 429}, or -1 if it is not a rate limit
+     * (for example a permission error) and must not be retried.
+     */
+    private long retryDelayMillis(GitHubConnectorResponse response, byte[] body, int attempt) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter != null) {
+            try {
+                return Math.max(0, Long.parseLong(retryAfter.trim())) * 1000 + jitterMillis(1000);
+            } catch (NumberFormatException e) {
+                // data HTTP em vez de segundos: cai no backoff abaixo
+            }
+        }
+        String remaining = response.header("X-RateLimit-Remaining");
+        String reset = response.header("X-RateLimit-Reset");
+        if ("0".equals(remaining == null ? null : remaining.trim()) && reset != null) {
+            try {
+                long untilReset = Long.parseLong(reset.trim()) * 1000 - System.currentTimeMillis();
+                return Math.max(0, untilReset) + RESET_MARGIN_MILLIS + jitterMillis(1000);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        String message = new String(body, StandardCharsets.UTF_8).toLowerCase(Locale.ROOT);
+        if (response.statusCode() == 429 || message.contains("secondary rate limit") || message.contains("abuse")) {
+            // sem indicação do GitHub: pelo menos um minuto, dobrando a cada tentativa
+            long base = Math.min(MAX_BACKOFF.toMillis(), SECONDARY_BACKOFF.toMillis() << Math.min(attempt, 4));
+            return base / 2 + jitterMillis(base / 2);
+        }
+        return -1;
+    }
+
+    private static long jitterMillis(long bound) {
+        return bound <= 0 ? 0 : ThreadLocalRandom.current().nextLong(bound);
+    }
+
+    private static byte[] readBody(GitHubConnectorResponse response) throws IOException {
+        try (response) {
+            InputStream stream = response.bodyStream();
+            return stream == null ? new byte[0] : HttpResponseCache.readAll(stream);
+        }
+    }
+
+    private void pause(long millis) throws IOException {
+        long startNanos = System.nanoTime();
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the GitHub rate limit");
+        } finally {
+            metrics.record("github.rate_limit.wait", System.nanoTime() - startNanos);
+        }
+    }
+
+    /** A request whose body is held in memory, so it can be sent more than once. */
+    private static final class BufferedRequest implements GitHubConnectorRequest {
+        private final GitHubConnectorRequest request;
+        private final byte[] body;
+
+        BufferedRequest(GitHubConnectorRequest request) throws IOException {
+            this.request = request;
+            try (InputStream stream = request.body()) {
+                this.body = stream == null ? new byte[0] : HttpResponseCache.readAll(stream);
+            }
+        }
+
+        @Override
+        public String method() {
+            return request.method();
+        }
+
+        @Override
+        public Map<String, List<String>> allHeaders() {
+            return request.allHeaders();
+        }
+
+        @Override
+        public String header(String name) {
+            return request.header(name);
+        }
+
+        @Override
+        public String contentType() {
+            return request.contentType();
+        }
+
+        @Override
+        public InputStream body() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public URL url() {
+            return request.url();
+        }
+
+        @Override
+        public boolean hasBody() {
+            return true;
+        }
+    }
+}
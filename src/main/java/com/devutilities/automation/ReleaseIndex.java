@@ -0,0 +1,99 @@
+package main.java.com.devutilities.automation;
+
+import org.kohsuke.github.GHRelease;
+import org.kohsuke.github.GHRepository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Release tags of one repository, persisted to a local file and kept up to date incrementally.
+ * <p>
+ * GitHub lists releases newest first, so {@link #refresh(GHRepository)} pages only until it
+ * meets a tag it already knows; after the first run that is a single page. The highest version
+ * is tracked as tags are added, so {@link #nextTag()} needs no scan. Releases deleted on GitHub
+ * stay in the index, which at worst skips a version number.
+ */
+final class ReleaseIndex {
+
+    private final Path file;
+    private final int pageSize;
+    private final Set<String> tags = new HashSet<>();
+    private SemVer latest;
+    private boolean loaded;
+
+    ReleaseIndex(Path file, int pageSize) {
+        this.file = file;
+        this.pageSize = pageSize;
+    }
+
+    /** Adds the releases published since the last refresh. */
+    synchronized void refresh(GHRepository repo) throws IOException {
+        load();
+        List<String> added = new ArrayList<>();
+        for (GHRelease release : repo.listReleases().withPageSize(pageSize)) {
+            TaskScheduler.checkCancelled();
+            String tag = release.getTagName();
+            if (tags.contains(tag)) {
+                break;
+            }
+            added.add(tag);
+        }
+        if (!added.isEmpty()) {
+            added.forEach(this::add);
+            save();
+        }
+    }
+
+    /** Records a release we have just published ourselves. */
+    synchronized void record(String tag) throws IOException {
+        load();
+        if (add(tag)) {
+            save();
+        }
+    }
+
+    /** The tag that follows the highest known version ({@code v0.0.1} for a repository without releases). */
+    synchronized String nextTag() {
+        return (latest == null ? SemVer.ZERO : latest).next().toString();
+    }
+
+    private boolean add(String tag) {
+        if (!tags.add(tag)) {
+            return false;
+        }
+        SemVer version = SemVer.parse(tag);
+        if (version != null && (latest == null || version.compareTo(latest) > 0)) {
+            latest = version;
+        }
+        return true;
+    }
+
+    private void load() throws IOException {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (Files.exists(file)) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    add(line.strip());
+                }
+            }
+        }
+    }
+
+    private void save() throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "releases", ".tmp");
+        Files.write(temp, tags, StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,90 @@
+package main.java.com.devutilities.automation;
+
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One lock per shared part of the repository, so only git operations that touch the same part
+ * wait for each other.
+ * <p>
+ * {@link #run} always takes locks in {@link Resource} order, whatever order the caller lists
+ * them in, so two tasks can never deadlock; locks are reentrant, and work holding some may
+ * take later ones too. API-only workflows take none. Time spent waiting for and holding
+ * each lock goes to {@link Metrics} as {@code lock.wait.<resource>} and {@code lock.hold.<resource>}.
+ */
+final class RepoLockManager {
+
+    /** Shared repository state, in acquisition order. */
+    enum Resource {
+        /** The working copy of {@code notes.txt}. */
+        NOTES,
+        /** The git index. */
+        INDEX,
+        /** The checked-out branch ({@code main}) and HEAD. */
+        BRANCH,
+        /** Pushes to {@code origin}. */
+        REMOTE
+    }
+
+    /** Work done while holding locks. */
+    interface Locked<E extends Exception> {
+        void run() throws E;
+    }
+
+    private final Map<Resource, ReentrantLock> locks = new EnumMap<>(Resource.class);
+    private final LogSink log;
+    private final Metrics metrics;
+
+    RepoLockManager(LogSink log, Metrics metrics) {
+        this.log = log;
+        this.metrics = metrics;
+        for (Resource resource : Resource.values()) {
+            locks.put(resource, new ReentrantLock(true));
+        }
+    }
+
+    /**
+     * Runs {@code body} holding every one of {@code resources}, logging once when another task
+     * holds one. Interrupting the waiting thread (cancelling its task) gives up with nothing held.
+     */
+    <E extends Exception> void run(Locked<E> body, Resource... resources) throws E, InterruptedIOException {
+        Resource[] ordered = resources.clone();
+        Arrays.sort(ordered);
+        long[] acquiredNanos = new long[ordered.length];
+        int held = 0;
+        try {
+            for (; held < ordered.length; held++) {
+                ReentrantLock lock = locks.get(ordered[held]);
+                long startNanos = System.nanoTime();
+                if (!lock.tryLock()) {
+                    log.log("log.lock.waiting", LogLevel.INFO, name(ordered[held]));
+                    lock.lockInterruptibly();
+                }
+                acquiredNanos[held] = System.nanoTime();
+                metrics.record("lock.wait." + name(ordered[held]), acquiredNanos[held] - startNanos);
+            }
+        } catch (InterruptedException e) {
+            for (int i = held - 1; i >= 0; i--) {
+                locks.get(ordered[i]).unlock();
+            }
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the " + name(ordered[held]) + " lock");
+        }
+        try {
+            body.run();
+        } finally {
+            for (int i = ordered.length - 1; i >= 0; i--) {
+                metrics.record("lock.hold." + name(ordered[i]), System.nanoTime() - acquiredNanos[i]);
+                locks.get(ordered[i]).unlock();
+            }
+        }
+    }
+
+    private static String name(Resource resource) {
+        return resource.name().toLowerCase(Locale.ROOT);
+    }
+}
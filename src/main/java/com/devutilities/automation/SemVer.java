@@ -0,0 +1,95 @@
+package main.java.com.devutilities.automation;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A {@code vMAJOR.MINOR.PATCH[-PRERELEASE][+BUILD]} release tag, ordered by Semantic Versioning
+ * precedence: components are compared one by one, a pre-release sorts before its release and
+ * build metadata is ignored.
+ */
+record SemVer(long major, long minor, long patch, String preRelease) implements Comparable<SemVer> {
+
+    private static final Pattern TAG = Pattern.compile(
+            "v(\\d{1,18})\\.(\\d{1,18})\\.(\\d{1,18})"
+                    + "(?:-([0-9A-Za-z-]+(?:\\.[0-9A-Za-z-]+)*))?(?:\\+[0-9A-Za-z-]+(?:\\.[0-9A-Za-z-]+)*)?");
+    private static final Pattern NUMERIC = Pattern.compile("\\d+");
+
+    static final SemVer ZERO = new SemVer(0, 0, 0, null);
+
+    /** Parses {@code tag}, or returns {@code null} if it is not a version tag. */
+    static SemVer parse(String tag) {
+        if (tag == null) {
+            return null;
+        }
+        Matcher m = TAG.matcher(tag);
+        if (!m.matches()) {
+            return null;
+        }
+        return new SemVer(Long.parseLong(m.group(1)), Long.parseLong(m.group(2)), Long.parseLong(m.group(3)), m.group(4));
+    }
+
+    boolean isPreRelease() {
+        return preRelease != null;
+    }
+
+    /** The release a pre-release leads to, otherwise the next patch release. */
+    SemVer next() {
+        return isPreRelease() ? new SemVer(major, minor, patch, null) : new SemVer(major, minor, patch + 1, null);
+    }
+
+    @Override
+    public int compareTo(SemVer other) {
+        int c = Long.compare(major, other.major);
+        if (c == 0) {
+            c = Long.compare(minor, other.minor);
+        }
+        if (c == 0) {
+            c = Long.compare(patch, other.patch);
+        }
+        if (c != 0) {
+            return c;
+        }
+        if (preRelease == null || other.preRelease == null) {
+            return preRelease == null ? (other.preRelease == null ? 0 : 1) : -1;
+        }
+        return comparePreRelease(preRelease, other.preRelease);
+    }
+
+    private static int comparePreRelease(String a, String b) {
+        String[] left = a.split("\\.");
+        String[] right = b.split("\\.");
+        for (int i = 0; i < Math.min(left.length, right.length); i++) {
+            boolean leftNumeric = NUMERIC.matcher(left[i]).matches();
+            boolean rightNumeric = NUMERIC.matcher(right[i]).matches();
+            int c;
+            if (leftNumeric && rightNumeric) {
+                // Compara pelo comprimento primeiro para não depender do tamanho do número
+                String l = stripLeadingZeros(left[i]);
+                String r = stripLeadingZeros(right[i]);
+                c = l.length() != r.length() ? Integer.compare(l.length(), r.length()) : l.compareTo(r);
+            } else if (leftNumeric != rightNumeric) {
+                c = leftNumeric ? -1 : 1;
+            } else {
+                c = left[i].compareTo(right[i]);
+            }
+            if (c != 0) {
+                return c;
+            }
+        }
+        return Integer.compare(left.length, right.length);
+    }
+
+    private static String stripLeadingZeros(String digits) {
+        int i = 0;
+        while (i < digits.length() - 1 && digits.charAt(i) == '0') {
+            i++;
+        }
+        return digits.substring(i);
+    }
+
+    @Override
+    public String toString() {
+        return "v" + major + "." + minor + "." + patch + (preRelease == null ? "" : "-" + preRelease);
+    }
+}
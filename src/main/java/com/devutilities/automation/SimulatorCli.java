@@ -0,0 +1,140 @@
+package main.java.com.devutilities.automation;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.Properties;
+
+/**
+ * Headless entry point: runs one workflow against the engine without loading AWT or Swing.
+ * <pre>
+ * java -cp "bin:lib/*:src/main/resources" main.java.com.devutilities.automation.SimulatorCli \
+ *      commits --from 2024-01-01 --to 2024-12-31 [--min 1] [--max 3] [--speed fast|medium|slow|unthrottled]
+ *      [--rate commits/s] [--bulk] [--seed n]
+ * java ... SimulatorCli issue|pr|comment|approve|merge|close-issue|release [--repeat 1]
+ * </pre>
+ * Common options: {@code --lang en_US|pt_BR}. Log lines go to standard output, errors to
+ * standard error; the exit status is 0 when every task succeeded, 1 otherwise and 2 on bad usage.
+ */
+public final class SimulatorCli {
+
+    private static final String USAGE = """
+            Usage: SimulatorCli <command> [options]
+              commits --from yyyy-MM-dd --to yyyy-MM-dd [--min 1] [--max 3] [--speed fast|medium|slow|unthrottled] [--rate commits/s] [--bulk] [--seed n]
+              issue | pr | comment | approve | merge | close-issue | release [--repeat 1]
+            Options: --lang en_US|pt_BR""";
+
+    private SimulatorCli() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        long startNanos = System.nanoTime();
+        if (args.length == 0 || args[0].equals("--help")) {
+            System.out.println(USAGE);
+            System.exit(args.length == 0 ? 2 : 0);
+        }
+
+        SimulatorEngine.Workflow workflow;
+        Map<String, String> options = new HashMap<>();
+        try {
+            workflow = SimulatorEngine.Workflow.fromCommand(args[0]);
+            for (int i = 1; i < args.length; i++) {
+                if (args[i].equals("--bulk")) {
+                    options.put("bulk", "true");
+                } else if (args[i].startsWith("--") && i + 1 < args.length) {
+                    options.put(args[i].substring(2), args[++i]);
+                } else {
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        MessageCatalog messages;
+        try {
+            messages = MessageCatalog.forLocale(Locale.forLanguageTag(options.getOrDefault("lang", "en_US").replace('_', '-')));
+        } catch (MissingResourceException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        LogSink log = (key, level, logArgs) -> print(level == LogLevel.ERROR ? System.err : System.out,
+                level, messages.format(key, logArgs));
+
+        Properties appProps = SimulatorEngine.loadAppProperties(Paths.get("config", "app.properties"), log);
+
+        SimulatorEngine.CommitHistoryRequest commitRequest = null;
+        int repeat;
+        try {
+            repeat = Integer.parseInt(options.getOrDefault("repeat", "1"));
+            if (workflow == SimulatorEngine.Workflow.COMMITS) {
+                commitRequest = commitRequest(options, appProps);
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        int exitCode;
+        try (SimulatorEngine engine = new SimulatorEngine(new File("."), appProps, log, task -> { })) {
+            exitCode = run(engine, workflow, commitRequest, repeat, log, startNanos);
+        }
+        System.exit(exitCode);
+    }
+
+    /** Initializes the engine, runs the workflow {@code repeat} times and returns the exit code. */
+    private static int run(SimulatorEngine engine, SimulatorEngine.Workflow workflow,
+                           SimulatorEngine.CommitHistoryRequest commitRequest, int repeat,
+                           LogSink log, long startNanos) throws InterruptedException {
+        engine.initialize().awaitDone();
+        if (workflow.usesGitHub() && !engine.isConnected()) {
+            return 1;
+        }
+        log.log("log.startup_time.headless", LogLevel.INFO, (System.nanoTime() - startNanos) / 1_000_000,
+                ManagementFactory.getRuntimeMXBean().getUptime());
+
+        boolean failed = false;
+        for (int i = 0; i < repeat; i++) {
+            TaskScheduler.Task task = commitRequest != null
+                    ? engine.submitCommitHistory(commitRequest)
+                    : engine.submit(workflow);
+            failed |= task.awaitDone() != TaskScheduler.Status.SUCCEEDED;
+        }
+        return failed ? 1 : 0;
+    }
+
+    private static SimulatorEngine.CommitHistoryRequest commitRequest(Map<String, String> options, Properties appProps) {
+        String from = options.get("from");
+        String to = options.get("to");
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("commits needs --from and --to");
+        }
+        return new SimulatorEngine.CommitHistoryRequest(
+                LocalDate.parse(from),
+                LocalDate.parse(to),
+                Integer.parseInt(options.getOrDefault("min", "1")),
+                Integer.parseInt(options.getOrDefault("max", "3")),
+                options.containsKey("rate")
+                        ? Double.parseDouble(options.get("rate"))
+                        : SimulatorEngine.Speed.valueOf(options.getOrDefault("speed", "fast").toUpperCase(Locale.ROOT)).commitsPerSecond,
+                Boolean.parseBoolean(options.getOrDefault("bulk", appProps.getProperty("commits.bulk_mode", "false"))),
+                options.containsKey("seed") ? Long.valueOf(options.get("seed")) : null);
+    }
+
+    private static void print(PrintStream out, LogLevel level, String line) {
+        out.println(level == LogLevel.GIT_CMD ? "  " + line : line);
+    }
+}
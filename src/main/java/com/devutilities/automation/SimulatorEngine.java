@@ -0,0 +1,724 @@
+package main.java.com.devutilities.automation;
+
+import org.kohsuke.github.*;
+import org.kohsuke.github.connector.GitHubConnector;
+
+import javax.management.JMException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.OptionalInt;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * The simulator's workflows, independent of any user interface.
+ * <p>
+ * Workflows run as {@link TaskScheduler} tasks and report progress only through the
+ * {@link LogSink}, as message keys with arguments; the Swing frame and the command line are
+ * both clients of this class.
+ */
+final class SimulatorEngine implements AutoCloseable {
+
+    /** Workflows a client can start; the key names the task in the catalog, the command on the command line. */
+    enum Workflow {
+        COMMITS("button.generate_commits", "commits"),
+        ISSUE("button.create_issue", "issue"),
+        PULL_REQUEST("button.create_pr", "pr"),
+        COMMENT("button.comment_issue", "comment"),
+        APPROVE("button.approve_pr", "approve"),
+        MERGE("button.merge_pr", "merge"),
+        CLOSE_ISSUE("button.close_issue", "close-issue"),
+        RELEASE("button.create_release", "release");
+
+        final String key;
+        final String command;
+
+        Workflow(String key, String command) {
+            this.key = key;
+            this.command = command;
+        }
+
+        boolean usesGitHub() {
+            return this != COMMITS;
+        }
+
+        static Workflow fromCommand(String command) {
+            for (Workflow workflow : values()) {
+                if (workflow.command.equals(command)) {
+                    return workflow;
+                }
+            }
+            throw new IllegalArgumentException("Unknown command: " + command);
+        }
+
+        static Workflow fromKey(String key) {
+            for (Workflow workflow : values()) {
+                if (workflow.key.equals(key)) {
+                    return workflow;
+                }
+            }
+            return null;
+        }
+    }
+
+    /** Commit rate presets of the normal (non-bulk) mode, in commits per second; zero is unthrottled. */
+    enum Speed {
+        FAST("speed.fast", 10),
+        MEDIUM("speed.medium", 3),
+        SLOW("speed.slow", 1.3),
+        UNTHROTTLED("speed.unthrottled", 0);
+
+        final String key;
+        final double commitsPerSecond;
+
+        Speed(String key, double commitsPerSecond) {
+            this.key = key;
+            this.commitsPerSecond = commitsPerSecond;
+        }
+    }
+
+    /**
+     * {@code commitsPerSecond} paces the normal mode (zero or less is unthrottled; bulk mode never
+     * waits); {@code seed} makes the planned timestamps and messages reproducible, {@code null}
+     * draws fresh ones.
+     */
+    record CommitHistoryRequest(LocalDate startDate, LocalDate endDate, int minCommits, int maxCommits,
+                                double commitsPerSecond, boolean bulkMode, Long seed) {
+        CommitHistoryRequest {
+            if (minCommits < 1 || minCommits > maxCommits) {
+                throw new IllegalArgumentException("min/max commits: " + minCommits + "/" + maxCommits);
+            }
+        }
+    }
+
+    static final String INITIALIZE_TASK = "task.initialize";
+
+    private static final String GITHUB_API_URL = "https://api.github.com";
+    /** Where PR branches are built before being pushed; never checked out. */
+    private static final String PR_REF_PREFIX = "refs/devutilities/pr/";
+
+    private static final String[] COMMIT_MESSAGES = {"Update", "Refactor", "Bug fix", "Doc update", "Style fix"};
+    private static final String[] TASK_TITLES = {"update-api-docs", "fix-login-bug", "refactor-database-module", "add-user-auth"};
+    private static final String[] ISSUE_COMMENTS = {"I'm looking into this.", "Good point! I'll add tests to cover this case.", "Investigating the root cause of the issue.", "Can anyone else reproduce this behavior?", "I think I have a fix for this, will open a PR soon."};
+    private static final String[] MERGE_MESSAGES = {"Good work! Merging now.", "Merged. Thanks for the contribution!", "Feature integrated successfully."};
+    private static final String[] APPROVE_COMMENTS = {"Looks good to me!", "Great work, approved.", "LGTM!"};
+    private static final String[] RELEASE_NOTES = {"This version includes performance improvements and bug fixes.", "New API features and database query optimization.", "Maintenance release with security updates."};
+    private static final String[] CLOSE_MESSAGES = {"Resolved in commit xyz.", "Fixed.", "Closing as this is now implemented."};
+
+    private final Properties appProps;
+    private final Properties githubProps = new Properties();
+    private final LogSink log;
+    private final Metrics metrics = new Metrics();
+    private final GitWorkspace git;
+    private final TaskScheduler scheduler;
+
+    private volatile GitHubCache githubCache;
+    private volatile HttpResponseCache httpCache;
+    private volatile ReleaseIndex releaseIndex;
+
+    /**
+     * @param listener notified, after the engine has logged it, whenever a task changes status
+     */
+    SimulatorEngine(File workDir, Properties appProps, LogSink log, Consumer<TaskScheduler.Task> listener) {
+        this.appProps = appProps;
+        this.log = log;
+        this.git = new GitWorkspace(workDir, log, metrics);
+        git.setTimeouts(subcommand -> Duration.ofSeconds(
+                intSetting("git.timeout_seconds." + subcommand, intSetting("git.timeout_seconds", 600))));
+        this.scheduler = new TaskScheduler(type -> intSetting("tasks.max_concurrent_per_workflow", 1), task -> {
+            onTaskChanged(task);
+            listener.accept(task);
+        });
+        try {
+            metrics.registerMBean();
+        } catch (JMException e) {
+            log.log("log.metrics.jmx_error", LogLevel.ERROR, e.getMessage());
+        }
+    }
+
+    /** Timings and counters of this engine, also published over JMX. */
+    Metrics metrics() {
+        return metrics;
+    }
+
+    /** Reads {@code file} if it exists; a missing file leaves every setting at its default. */
+    static Properties loadAppProperties(Path file, LogSink log) {
+        Properties props = new Properties();
+        if (!Files.exists(file)) {
+            return props;
+        }
+        try (InputStream input = new FileInputStream(file.toFile())) {
+            props.load(input);
+        } catch (IOException e) {
+            log.log("log.file_error", LogLevel.ERROR, e.getMessage());
+        }
+        return props;
+    }
+
+    String setting(String key, String defaultValue) {
+        return appProps.getProperty(key, defaultValue);
+    }
+
+    int intSetting(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(appProps.getProperty(key, String.valueOf(defaultValue)).trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /** Loads the GitHub configuration, connects and prepares the local repository, as a task. */
+    TaskScheduler.Task initialize() {
+        return scheduler.submit(INITIALIZE_TASK, () -> {
+            try {
+                loadGitHubProperties();
+                initializeGitHubAPI();
+                git.locks().run(() -> {
+                    git.initializeRepository();
+                    git.createNotesFileIfNotExists();
+                }, RepoLockManager.Resource.values());
+            } catch (Exception ex) {
+                log.log("log.fatal_error", LogLevel.ERROR);
+                log.log(String.valueOf(ex.getMessage()), LogLevel.ERROR);
+            }
+        });
+    }
+
+    /** True once {@link #initialize()} has connected to GitHub. */
+    boolean isConnected() {
+        return githubCache != null;
+    }
+
+    TaskScheduler.Task submit(Workflow workflow) {
+        Runnable body = switch (workflow) {
+            case COMMITS -> throw new IllegalArgumentException("Use submitCommitHistory");
+            case ISSUE -> this::simulateIssueWorkflow;
+            case PULL_REQUEST -> this::simulatePullRequestWorkflow;
+            case COMMENT -> this::simulateAddComment;
+            case APPROVE -> this::simulateApprovePullRequest;
+            case MERGE -> this::simulateMergePullRequest;
+            case CLOSE_ISSUE -> this::simulateCloseIssueWorkflow;
+            case RELEASE -> this::simulateCreateRelease;
+        };
+        return scheduler.submit(workflow.key, body::run);
+    }
+
+    TaskScheduler.Task submitCommitHistory(CommitHistoryRequest request) {
+        return scheduler.submit(Workflow.COMMITS.key, () -> generateCommitHistory(request));
+    }
+
+    /** Queued and running tasks, oldest first. */
+    List<TaskScheduler.Task> activeTasks() {
+        return scheduler.activeTasks();
+    }
+
+    /** Releases the repository's long-lived git processes, once no task needs them any more. */
+    @Override
+    public void close() {
+        git.close();
+    }
+
+    private void onTaskChanged(TaskScheduler.Task task) {
+        switch (task.getStatus()) {
+            case SUCCEEDED -> {
+                log.log("log.task.finished", LogLevel.INFO,
+                        new MessageCatalog.Key(task.getType()), task.getRunMillis(), task.getQueuedMillis());
+                Workflow workflow = Workflow.fromKey(task.getType());
+                GitHubCache cache = githubCache;
+                if (cache != null && workflow != null && workflow.usesGitHub()) {
+                    long hits = cache.getHits();
+                    long total = hits + cache.getMisses();
+                    log.log("log.cache.stats", LogLevel.INFO, hits, cache.getMisses(), total == 0 ? 0 : hits * 100 / total);
+                    log.log("log.http_cache.stats", LogLevel.INFO, Math.round(httpCache.getHitRatio() * 100),
+                            httpCache.getHits(), httpCache.getBytesSaved() / 1024);
+                }
+            }
+            case CANCELLED -> log.log("log.task.cancelled", LogLevel.ERROR, new MessageCatalog.Key(task.getType()), task.getRunMillis());
+            case FAILED -> {
+                Throwable e = task.getFailure();
+                log.log("log.task_exception", LogLevel.ERROR);
+                log.log(e.getClass().getSimpleName() + ": " + e.getMessage(), LogLevel.ERROR);
+                e.printStackTrace();
+            }
+            default -> { }
+        }
+    }
+
+    private void loadGitHubProperties() throws IOException {
+        log.log("log.reading_config", LogLevel.INFO);
+        try (InputStream input = new FileInputStream(new File(git.getWorkDir(), "config/github.properties"))) {
+            githubProps.load(input);
+        }
+        git.setAuthor(githubProps.getProperty("github.username"), githubProps.getProperty("github.email"));
+        log.log("log.config_loaded", LogLevel.SUCCESS);
+        if (githubProps.getProperty("github.email") == null || githubProps.getProperty("github.email").isEmpty()) {
+            log.log("log.config.missing_email", LogLevel.ERROR);
+        }
+    }
+
+    private void initializeGitHubAPI() throws IOException {
+        log.log("log.connecting_github", LogLevel.INFO);
+        String token = githubProps.getProperty("github.token");
+        httpCache = new HttpResponseCache(
+                Paths.get(appProps.getProperty("github.http_cache.dir", Paths.get(System.getProperty("user.home"), ".devutilities", "http-cache").toString())),
+                intSetting("github.http_cache.memory_kb", 4 * 1024) * 1024L,
+                intSetting("github.http_cache.disk_kb", 50 * 1024) * 1024L);
+        GitHubConnector connector = new RateLimitedGitHubConnector(
+                new CachingGitHubConnector(GitHubConnector.DEFAULT, httpCache, metrics), log, metrics,
+                intSetting("github.rate_limit.reserve", 100),
+                intSetting("github.rate_limit.max_retries", 3),
+                Duration.ofMillis(intSetting("github.rate_limit.write_interval_ms", 1000)));
+        String endpoint = appProps.getProperty("github.endpoint", GITHUB_API_URL).trim();
+        GitHub github = new GitHubBuilder()
+                .withEndpoint(endpoint)
+                .withOAuthToken(token)
+                .withConnector(connector)
+                .build();
+        String repoName = githubProps.getProperty("github.username") + "/" + githubProps.getProperty("github.repository");
+        releaseIndex = new ReleaseIndex(
+                Paths.get(appProps.getProperty("github.release_index.dir", Paths.get(System.getProperty("user.home"), ".devutilities", "releases").toString()))
+                        .resolve(endpointDirectory(endpoint))
+                        .resolve(repoName.replace('/', '_') + ".txt"),
+                intSetting("github.selection.page_size", 30));
+        GitHubCache cache = new GitHubCache(github, new GitHubSearch(connector, endpoint, token), repoName,
+                Duration.ofSeconds(intSetting("github.cache.repository_ttl_seconds", 600)),
+                Duration.ofSeconds(intSetting("github.cache.user_ttl_seconds", 3600)),
+                Duration.ofSeconds(intSetting("github.cache.listing_ttl_seconds", 30)),
+                intSetting("github.selection.page_size", 30));
+        log.log("log.connected_success", LogLevel.SUCCESS, cache.currentUserLogin());
+        githubCache = cache;
+    }
+
+    /**
+     * {@code api.github.com} or {@code localhost_8089}: keeps what is learnt from one API server
+     * (a FakeGitHubServer, an Enterprise host) apart from another with the same owner/repo.
+     */
+    private static String endpointDirectory(String endpoint) {
+        URI uri = URI.create(endpoint);
+        String host = uri.getHost() == null ? "unknown" : uri.getHost().toLowerCase(Locale.ROOT);
+        return uri.getPort() < 0 ? host : host + "_" + uri.getPort();
+    }
+
+    private void generateCommitHistory(CommitHistoryRequest request) throws Exception {
+        log.log("log.commit_history.executing", LogLevel.INFO);
+        if (request.bulkMode()) {
+            log.log("log.commit_history.bulk_mode", LogLevel.INFO);
+        }
+        GenerationJournal.Run run = new GenerationJournal.Run(
+                request.startDate(), request.endDate(), request.minCommits(), request.maxCommits());
+        // O histórico é dono do main até o fim: a retomada depende de ninguém mais mexer no HEAD
+        git.locks().run(() -> generateCommitHistory(request, run),
+                RepoLockManager.Resource.NOTES, RepoLockManager.Resource.INDEX, RepoLockManager.Resource.BRANCH);
+    }
+
+    private void generateCommitHistory(CommitHistoryRequest request, GenerationJournal.Run run) throws Exception {
+        long headEpochSecond;
+        try {
+            headEpochSecond = git.queries().authorEpochSecond("HEAD");
+        } catch (NumberFormatException e) {
+            headEpochSecond = -1;
+        }
+        try (GenerationJournal journal = GenerationJournal.open(git.journalFile(), run, headEpochSecond)) {
+            if (journal.isResumed()) {
+                LocalDate from = journal.pendingDays().isEmpty() ? journal.nextDate() : journal.pendingDays().get(0).date();
+                log.log("log.commit_history.resuming", LogLevel.INFO, journal.resumedCommits(),
+                        from.format(DateTimeFormatter.ISO_LOCAL_DATE));
+            }
+            new CommitHistoryRun(request, journal).run();
+            journal.complete();
+        }
+        log.log("log.commit_history.push_success", LogLevel.SUCCESS);
+    }
+
+    /**
+     * One commit history generation. Commits are confirmed in the journal and pushed every
+     * {@code commits.push_chunk_size} commits, so a failure loses at most one chunk of work.
+     */
+    private final class CommitHistoryRun {
+        private final CommitHistoryRequest request;
+        private final GenerationJournal journal;
+        private final RandomGenerator random;
+        private final Pacer pacer;
+        private final int chunkSize;
+        private final int bulkChunkSize;
+        private final long totalDays;
+        private FastImportCommitWriter bulkWriter;
+        private LocalDate currentDate;
+        private long startNanos;
+        private long sessionCommits;
+        private long sessionDays;
+        private int doneToday;
+        private int sinceCheckpoint;
+        private long commitCount;
+
+        CommitHistoryRun(CommitHistoryRequest request, GenerationJournal journal) {
+            this.request = request;
+            this.journal = journal;
+            this.random = request.seed() == null ? ThreadLocalRandom.current() : new SplittableRandom(request.seed());
+            this.pacer = request.bulkMode()
+                    ? Pacer.unthrottled()
+                    : Pacer.of(request.commitsPerSecond(), intSetting("commits.pacing.burst", 5));
+            this.chunkSize = intSetting("commits.push_chunk_size", 500);
+            this.bulkChunkSize = Math.max(1, intSetting("commits.bulk_chunk_size", 500));
+            this.totalDays = ChronoUnit.DAYS.between(request.startDate(), request.endDate()) + 1;
+            this.commitCount = journal.resumedCommits();
+        }
+
+        void run() throws Exception {
+            startNanos = System.nanoTime();
+            if (request.bulkMode()) {
+                bulkWriter = new FastImportCommitWriter(git, git.getAuthorName(), git.getAuthorEmail()).open();
+            }
+            try (NotesAppender notes = request.bulkMode() ? null : openNotesAppender()) {
+                for (CommitPlanner.Day day : journal.pendingDays()) {
+                    generateDay(day, notes, false);
+                }
+                CommitPlanner planner = new CommitPlanner(journal.nextDate(), request.endDate(),
+                        request.minCommits(), request.maxCommits(), random);
+                for (CommitPlanner.Day day : planner) {
+                    generateDay(day, notes, true);
+                }
+                checkpoint(true);
+            } finally {
+                if (bulkWriter != null) {
+                    bulkWriter.close();
+                    confirmDay();
+                }
+                metrics.setProgress(Metrics.Progress.IDLE);
+                long made = sessionCommits;
+                long elapsedMillis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+                log.log("log.commit_history.rate", LogLevel.INFO, made, elapsedMillis,
+                        String.format(Locale.ROOT, "%.1f", made * 1000.0 / elapsedMillis));
+            }
+        }
+
+        private void generateDay(CommitPlanner.Day day, NotesAppender notes, boolean newPlan) throws Exception {
+            TaskScheduler.checkCancelled();
+            if (newPlan) {
+                journal.planned(day);
+            }
+            if (currentDate != null && !currentDate.equals(day.date())) {
+                sessionDays++;
+            }
+            currentDate = day.date();
+            doneToday = 0;
+            log.log("log.commit_history.processing", LogLevel.INFO, day.date().format(DateTimeFormatter.ISO_LOCAL_DATE), day.size());
+
+            for (int i = 0; i < day.size(); i++) {
+                TaskScheduler.checkCancelled();
+                pacer.acquire();
+                LocalDateTime commitDateTime = day.at(i);
+
+                String content = "Log entry for " + commitDateTime.format(DateTimeFormatter.ISO_DATE_TIME);
+                if (bulkWriter != null) {
+                    bulkWriter.commit(COMMIT_MESSAGES[random.nextInt(COMMIT_MESSAGES.length)], content + "\n", commitDateTime);
+                } else {
+                    createCommit(notes, content, commitDateTime, random);
+                }
+                doneToday++;
+                commitCount++;
+                sessionCommits++;
+                metrics.increment("commits.generated");
+                metrics.setProgress(new Metrics.Progress(sessionCommits, System.nanoTime() - startNanos, sessionDays,
+                        ChronoUnit.DAYS.between(currentDate, request.endDate()) + 1, totalDays));
+                if (bulkWriter == null) {
+                    journal.committed(currentDate, doneToday);
+                }
+                if (chunkSize > 0 && ++sinceCheckpoint >= chunkSize) {
+                    checkpoint(false);
+                } else if (bulkWriter != null && bulkWriter.commitCount() >= bulkChunkSize) {
+                    restartBulkWriter();
+                }
+            }
+        }
+
+        /** Makes the commits so far durable, confirms them in the journal and pushes them. */
+        private void checkpoint(boolean last) throws IOException {
+            if (bulkWriter != null) {
+                bulkWriter.close();
+                bulkWriter = null;
+                confirmDay();
+            }
+            sinceCheckpoint = 0;
+            long days = currentDate == null ? totalDays : ChronoUnit.DAYS.between(request.startDate(), currentDate) + 1;
+            log.log("log.commit_history.pushing", LogLevel.INFO);
+            git.locks().run(() -> {
+                if (!git.executeGitCommand("push", "origin", "main").isSuccess()) {
+                    // O diário fica: repetir o mesmo intervalo retoma e envia estes commits
+                    log.log("log.commit_history.push_failed", LogLevel.ERROR, commitCount);
+                    throw new IOException("Could not push main; the commit history journal was kept for a retry.");
+                }
+            }, RepoLockManager.Resource.REMOTE);
+            log.log("log.commit_history.push_progress", LogLevel.INFO, commitCount,
+                    currentDate == null ? request.endDate().toString() : currentDate.toString(),
+                    days * 100 / Math.max(1, totalDays));
+            if (request.bulkMode() && !last) {
+                bulkWriter = new FastImportCommitWriter(git, git.getAuthorName(), git.getAuthorEmail()).open();
+            }
+        }
+
+        /** Ends the current fast-import stream without pushing, so no stream outgrows {@code bulkChunkSize} commits. */
+        private void restartBulkWriter() throws IOException {
+            bulkWriter.close();
+            bulkWriter = null;
+            confirmDay();
+            bulkWriter = new FastImportCommitWriter(git, git.getAuthorName(), git.getAuthorEmail()).open();
+        }
+
+        private void confirmDay() throws IOException {
+            if (currentDate != null) {
+                journal.committed(currentDate, doneToday);
+            }
+        }
+    }
+
+    private void simulateApprovePullRequest() {
+        RandomGenerator random = ThreadLocalRandom.current();
+        log.log("log.approve_pr.looking", LogLevel.INFO);
+        try {
+            GHRepository repo = getRepository();
+            String currentUserLogin = githubCache.currentUserLogin();
+
+            OptionalInt prNumber = githubCache.randomOpenPullRequestNotBy(currentUserLogin, random);
+            if (prNumber.isEmpty()) {
+                log.log("log.approve_pr.none_found", LogLevel.ERROR);
+                return;
+            }
+
+            GHPullRequest randomPR = repo.getPullRequest(prNumber.getAsInt());
+            String comment = APPROVE_COMMENTS[random.nextInt(APPROVE_COMMENTS.length)];
+
+            log.log("log.approve_pr.approving", LogLevel.INFO, randomPR.getNumber(), comment);
+            randomPR.createReview().event(GHPullRequestReviewEvent.APPROVE).body(comment).create();
+            log.log("log.approve_pr.success", LogLevel.SUCCESS);
+
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void simulateCreateRelease() {
+        RandomGenerator random = ThreadLocalRandom.current();
+        log.log("log.create_release.starting", LogLevel.INFO);
+        try {
+            GHRepository repo = getRepository();
+            releaseIndex.refresh(repo);
+            String newTag = releaseIndex.nextTag();
+
+            String releaseTitle = "Release " + newTag;
+            String releaseNotes = RELEASE_NOTES[random.nextInt(RELEASE_NOTES.length)];
+
+            log.log("log.create_release.creating", LogLevel.INFO, releaseTitle, newTag);
+
+            repo.createRelease(newTag)
+                .name(releaseTitle)
+                .body(releaseNotes)
+                .commitish("main")
+                .prerelease(false)
+                .create();
+            releaseIndex.record(newTag);
+
+            log.log("log.create_release.success", LogLevel.SUCCESS, releaseTitle);
+
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void simulateAddComment() {
+        RandomGenerator random = ThreadLocalRandom.current();
+        log.log("log.add_comment.looking", LogLevel.INFO);
+        try {
+            OptionalInt issueNumber = githubCache.randomOpenIssue(random);
+            if (issueNumber.isEmpty()) {
+                log.log("log.add_comment.none_found", LogLevel.ERROR);
+                return;
+            }
+            GHIssue randomIssue = getRepository().getIssue(issueNumber.getAsInt());
+            String comment = ISSUE_COMMENTS[random.nextInt(ISSUE_COMMENTS.length)];
+
+            log.log("log.add_comment.adding", LogLevel.INFO, randomIssue.getNumber(), comment);
+            randomIssue.comment(comment);
+            log.log("log.add_comment.success", LogLevel.SUCCESS);
+
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void simulateMergePullRequest() {
+        RandomGenerator random = ThreadLocalRandom.current();
+        log.log("log.merge_pr.looking", LogLevel.INFO);
+        try {
+            GHRepository repo = getRepository();
+            OptionalInt prNumber = githubCache.randomOpenPullRequest(random);
+
+            if (prNumber.isEmpty()) {
+                log.log("log.merge_pr.none_found", LogLevel.ERROR);
+                return;
+            }
+
+            GHPullRequest randomPR = repo.getPullRequest(prNumber.getAsInt());
+            log.log("log.merge_pr.checking_status", LogLevel.INFO, randomPR.getNumber(), randomPR.getTitle());
+
+            Boolean mergeable = randomPR.getMergeable();
+
+            if (mergeable == null) {
+                log.log("log.merge_pr.status_unknown", LogLevel.ERROR, randomPR.getNumber());
+                return;
+            }
+
+            if (!mergeable) {
+                 log.log("log.merge_pr.not_mergeable", LogLevel.ERROR, randomPR.getNumber());
+                 return;
+            }
+
+            String mergeMessage = MERGE_MESSAGES[random.nextInt(MERGE_MESSAGES.length)];
+            randomPR.merge(mergeMessage);
+            githubCache.invalidatePullRequests();
+            log.log("log.merge_pr.success", LogLevel.SUCCESS, randomPR.getNumber());
+
+        } catch (IOException e) {
+             throw new RuntimeException(e);
+        }
+    }
+
+    private void simulateCloseIssueWorkflow() {
+        RandomGenerator random = ThreadLocalRandom.current();
+        log.log("log.close_issue.looking", LogLevel.INFO);
+        try {
+            OptionalInt issueNumber = githubCache.randomOpenIssue(random);
+
+            if (issueNumber.isEmpty()) {
+                log.log("log.close_issue.none_found", LogLevel.ERROR);
+                return;
+            }
+
+            GHIssue randomIssue = getRepository().getIssue(issueNumber.getAsInt());
+            String closeComment = CLOSE_MESSAGES[random.nextInt(CLOSE_MESSAGES.length)];
+
+            log.log("log.close_issue.closing", LogLevel.INFO, randomIssue.getNumber(), closeComment);
+            randomIssue.comment(closeComment);
+            randomIssue.close();
+            githubCache.invalidateIssues();
+            log.log("log.close_issue.success", LogLevel.SUCCESS, randomIssue.getNumber());
+
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void simulateIssueWorkflow() {
+        RandomGenerator random = ThreadLocalRandom.current();
+        try {
+            log.log("log.create_issue.executing", LogLevel.INFO);
+            String taskTitle = "Task: " + TASK_TITLES[random.nextInt(TASK_TITLES.length)] + " #" + (random.nextInt(900) + 100);
+            String taskBody = "This issue was auto-generated.\n- [ ] Task 1\n- [ ] Task 2";
+            log.log("log.create_issue.creating", LogLevel.INFO, taskTitle);
+            GHRepository repo = getRepository();
+            GHIssue issue = repo.createIssue(taskTitle)
+                                .body(taskBody)
+                                .label(random.nextBoolean() ? "bug" : "enhancement")
+                                .create();
+            githubCache.invalidateIssues();
+            log.log("log.create_issue.success", LogLevel.SUCCESS, issue.getNumber(), issue.getHtmlUrl());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Builds the PR branch from objects with {@code git fast-import} on a private ref, pushes it
+     * and drops the ref; HEAD, the index and the working tree are never touched, so this runs
+     * beside commit history runs and other PR workflows and only waits for the push lock.
+     */
+    private void simulatePullRequestWorkflow() {
+        RandomGenerator random = ThreadLocalRandom.current();
+        try {
+            log.log("log.create_pr.executing", LogLevel.INFO);
+            String originalBranch = "main";
+            String taskName = TASK_TITLES[random.nextInt(TASK_TITLES.length)];
+            String newBranch = (random.nextBoolean() ? "feature" : "fix") + "/pr-" + (random.nextInt(900) + 100) + "-" + taskName;
+            // A última versão enviada do main: não precisa do lock do branch e o PR só mostra os seus commits
+            String parent = git.queries().resolve("refs/remotes/origin/" + originalBranch);
+            if (parent.isEmpty()) {
+                parent = git.queries().resolve("refs/heads/" + originalBranch);
+            }
+            if (parent.isEmpty()) {
+                throw new IOException("Branch " + originalBranch + " has no commits to open a pull request against.");
+            }
+            GitQueryPool.GitObject notes = git.queries().read(parent + ":" + GitWorkspace.NOTES_FILE);
+            String ref = PR_REF_PREFIX + newBranch;
+            log.log("log.create_pr.creating_branch", LogLevel.INFO, newBranch);
+            Throwable failure = null;
+            try {
+                int numCommits = random.nextInt(3) + 2;
+                try (FastImportCommitWriter writer = FastImportCommitWriter.onRef(git, git.getAuthorName(),
+                        git.getAuthorEmail(), ref, parent, notes == null ? new byte[0] : notes.content()).open()) {
+                    for (int i = 0; i < numCommits; i++) {
+                        TaskScheduler.checkCancelled();
+                        writer.commit(COMMIT_MESSAGES[random.nextInt(COMMIT_MESSAGES.length)],
+                                "Commit " + (i + 1) + " for PR on branch " + newBranch + "\n",
+                                LocalDateTime.now().minusMinutes(numCommits - i));
+                    }
+                }
+                log.log("log.create_pr.pushing_branch", LogLevel.INFO);
+                git.locks().run(() -> {
+                    if (!git.executeGitCommand("push", "origin", ref + ":refs/heads/" + newBranch).isSuccess()) {
+                        throw new IOException("Could not push " + newBranch + "; the pull request was not created.");
+                    }
+                }, RepoLockManager.Resource.REMOTE);
+            } catch (Throwable e) {
+                failure = e;
+                throw e;
+            } finally {
+                // Uma falha na limpeza não pode esconder a do push
+                try {
+                    git.readGit("update-ref", "-d", ref);
+                } catch (IOException | RuntimeException cleanup) {
+                    log.log("log.create_pr.cleanup_failed", LogLevel.ERROR, ref, String.valueOf(cleanup.getMessage()));
+                    if (failure != null) {
+                        failure.addSuppressed(cleanup);
+                    }
+                }
+            }
+            log.log("log.create_pr.creating_pr", LogLevel.INFO);
+            String prTitle = "PR: " + Character.toUpperCase(taskName.charAt(0)) + taskName.substring(1).replace('-', ' ');
+            GHRepository repo = getRepository();
+            GHPullRequest pullRequest = repo.createPullRequest(prTitle, newBranch, originalBranch, "Auto-generated PR.");
+            githubCache.invalidatePullRequests();
+            log.log("log.create_pr.success", LogLevel.SUCCESS, pullRequest.getNumber(), pullRequest.getHtmlUrl());
+            log.log("log.create_pr.finished", LogLevel.SUCCESS);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private GHRepository getRepository() throws IOException {
+        return githubCache.repository();
+    }
+
+    private NotesAppender openNotesAppender() throws IOException {
+        return git.openNotesAppender(NotesAppender.SyncPolicy.fromProperty(appProps.getProperty("notes.sync_policy")));
+    }
+
+    private void createCommit(NotesAppender notes, String content, LocalDateTime commitDateTime, RandomGenerator random) throws IOException {
+        git.createCommit(notes, COMMIT_MESSAGES[random.nextInt(COMMIT_MESSAGES.length)], content, commitDateTime);
+    }
+}
@@ -0,0 +1,262 @@
+package main.java.com.devutilities.automation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Runs workflows on virtual threads with a concurrency limit per workflow type.
+ * <p>
+ * Every submitted task is visible through {@link #activeTasks()} while queued or running.
+ * Cancelling a task interrupts it and terminates the child processes it registered through
+ * {@link #attachProcess(Process)}; workflows cooperate by calling {@link #checkCancelled()}
+ * between steps.
+ */
+public final class TaskScheduler {
+
+    public enum Status { QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED }
+
+    /** Work run by a task; may throw anything, which marks the task as failed. */
+    public interface TaskBody {
+        void run() throws Exception;
+    }
+
+    public final class Task {
+        private final long id;
+        private final String type;
+        private final TaskBody body;
+        private final Runnable onCancel;
+        private final Set<Process> processes = ConcurrentHashMap.newKeySet();
+        private final long submittedNanos = System.nanoTime();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile long startedNanos;
+        private volatile long finishedNanos;
+        private volatile Status status = Status.QUEUED;
+        private volatile boolean cancelRequested;
+        private volatile Throwable failure;
+        /** Set by whichever of {@link #run()} and an early {@link #cancel()} gets to finish the task. */
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private Future<?> future;
+
+        private Task(long id, String type, TaskBody body, Runnable onCancel) {
+            this.id = id;
+            this.type = type;
+            this.body = body;
+            this.onCancel = onCancel;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        Throwable getFailure() {
+            return failure;
+        }
+
+        boolean isCancelRequested() {
+            return cancelRequested;
+        }
+
+        /** Time spent waiting for a free slot, in milliseconds. */
+        long getQueuedMillis() {
+            long started = startedNanos != 0 ? startedNanos : System.nanoTime();
+            return (started - submittedNanos) / 1_000_000;
+        }
+
+        /** Time spent running (so far), in milliseconds. */
+        long getRunMillis() {
+            if (startedNanos == 0) {
+                return 0;
+            }
+            long finished = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+            return (finished - startedNanos) / 1_000_000;
+        }
+
+        public void cancel() {
+            if (cancelRequested || isDone()) {
+                return;
+            }
+            cancelRequested = true;
+            if (onCancel != null) {
+                onCancel.run();
+            }
+            boolean neverStarted;
+            synchronized (this) {
+                neverStarted = future != null && future.cancel(true) && claimed.compareAndSet(false, true);
+            }
+            if (neverStarted) {
+                // Cancelada antes de a thread entrar em run(): o executor não a chama mais
+                finish(Status.CANCELLED);
+            }
+            processes.forEach(TaskScheduler::destroy);
+        }
+
+        public boolean isDone() {
+            return status == Status.SUCCEEDED || status == Status.FAILED || status == Status.CANCELLED;
+        }
+
+        /** Blocks until the task has finished, whatever its outcome, and returns its final status. */
+        public Status awaitDone() throws InterruptedException {
+            done.await();
+            return status;
+        }
+
+        private void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            CURRENT.set(this);
+            Semaphore slot = slots.computeIfAbsent(type, t -> new Semaphore(Math.max(1, limits.applyAsInt(t))));
+            boolean acquired = false;
+            try {
+                checkCancelled();
+                slot.acquire();
+                acquired = true;
+                checkCancelled();
+                startedNanos = System.nanoTime();
+                status = Status.RUNNING;
+                listener.accept(this);
+                body.run();
+                finish(Status.SUCCEEDED);
+            } catch (InterruptedException | CancellationException e) {
+                finish(Status.CANCELLED);
+            } catch (Throwable e) {
+                failure = e;
+                finish(cancelRequested ? Status.CANCELLED : Status.FAILED);
+            } finally {
+                if (acquired) {
+                    slot.release();
+                }
+                processes.forEach(TaskScheduler::destroy);
+                CURRENT.remove();
+            }
+        }
+
+        private void finish(Status finalStatus) {
+            if (startedNanos == 0) {
+                startedNanos = System.nanoTime();
+            }
+            finishedNanos = System.nanoTime();
+            status = finalStatus;
+            active.remove(this);
+            try {
+                listener.accept(this);
+            } finally {
+                done.countDown();
+            }
+        }
+    }
+
+    private static final ThreadLocal<Task> CURRENT = new ThreadLocal<>();
+    /** How long a terminated process gets to clean up before it is killed. */
+    private static final long TERMINATION_GRACE_MILLIS = 2_000;
+
+    private final ToIntFunction<String> limits;
+    private final Consumer<Task> listener;
+    private final Map<String, Semaphore> slots = new ConcurrentHashMap<>();
+    private final Set<Task> active = ConcurrentHashMap.newKeySet();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * @param limits   maximum number of tasks of a given type running at once
+     * @param listener notified (on the task's thread) whenever a task changes status
+     */
+    public TaskScheduler(ToIntFunction<String> limits, Consumer<Task> listener) {
+        this.limits = limits;
+        this.listener = listener;
+    }
+
+    public Task submit(String type, TaskBody body) {
+        return submit(type, body, null);
+    }
+
+    /** Queues {@code body}; {@code onCancel} runs first when the task is cancelled. */
+    public Task submit(String type, TaskBody body, Runnable onCancel) {
+        Task task = new Task(nextId.getAndIncrement(), type, body, onCancel);
+        active.add(task);
+        listener.accept(task);
+        synchronized (task) {
+            task.future = executor.submit(task::run);
+        }
+        return task;
+    }
+
+    /** Queued and running tasks, oldest first. */
+    public List<Task> activeTasks() {
+        List<Task> tasks = new ArrayList<>(active);
+        tasks.sort((a, b) -> Long.compare(a.id, b.id));
+        return tasks;
+    }
+
+    /** Throws {@link CancellationException} if the calling task has been cancelled. */
+    static void checkCancelled() {
+        Task task = CURRENT.get();
+        if ((task != null && task.cancelRequested) || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException();
+        }
+    }
+
+    /**
+     * Ties {@code process} to the calling task so cancelling the task kills it. The returned
+     * action unties it again and, unlike {@link #detachProcess(Process)}, may run on any thread.
+     */
+    static Runnable attachProcess(Process process) {
+        Task task = CURRENT.get();
+        if (task == null) {
+            return () -> { };
+        }
+        task.processes.add(process);
+        if (task.cancelRequested) {
+            destroy(process);
+        }
+        return () -> task.processes.remove(process);
+    }
+
+    static void detachProcess(Process process) {
+        Task task = CURRENT.get();
+        if (task != null) {
+            task.processes.remove(process);
+        }
+    }
+
+    /**
+     * Asks {@code process} and everything it started to terminate, and kills whatever is still
+     * running {@link #TERMINATION_GRACE_MILLIS} later. Returns without waiting.
+     */
+    static void destroy(Process process) {
+        List<ProcessHandle> handles = new ArrayList<>(process.descendants().toList());
+        handles.add(process.toHandle());
+        // SIGTERM primeiro: o git apaga o index.lock e os objetos temporários antes de sair
+        handles.forEach(ProcessHandle::destroy);
+        CompletableFuture.delayedExecutor(TERMINATION_GRACE_MILLIS, TimeUnit.MILLISECONDS).execute(() -> {
+            for (ProcessHandle handle : handles) {
+                if (handle.isAlive()) {
+                    handle.destroyForcibly();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package main.java.com.devutilities.automation;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Small thread-safe cache where every entry carries its own time-to-live.
+ * <p>
+ * Misses are loaded by the caller's {@link Loader}; two threads missing the same key at the
+ * same time may both load it, and the last one wins. Hits and misses are counted.
+ */
+final class TtlCache<K, V> {
+
+    interface Loader<V> {
+        V load() throws IOException;
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /** Returns the cached value for {@code key}, loading and caching it for {@code ttl} if absent or expired. */
+    V get(K key, Duration ttl, Loader<V> loader) throws IOException {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && !entry.isExpired(System.nanoTime())) {
+            hits.increment();
+            return entry.value();
+        }
+        misses.increment();
+        V value = loader.load();
+        put(key, value, ttl);
+        return value;
+    }
+
+    void put(K key, V value, Duration ttl) {
+        if (value == null || ttl.isZero() || ttl.isNegative()) {
+            entries.remove(key);
+            return;
+        }
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttl.toNanos()));
+    }
+
+    void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    void invalidateAll() {
+        entries.clear();
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,85 @@
+package test.java.com.devutilities.automation;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Assertions and a runner for the test classes, which are plain programs: each one's
+ * {@code main} hands an instance to {@link #runAll}, which runs its public {@code test*} methods.
+ */
+final class Checks {
+
+    private Checks() {
+    }
+
+    /**
+     * Runs every public no-argument {@code test*} method of {@code test}, in name order, and
+     * prints the outcome of each. Throws (so the JVM exits with status 1) if any failed.
+     */
+    static void runAll(Object test) {
+        Method[] methods = test.getClass().getMethods();
+        Arrays.sort(methods, Comparator.comparing(Method::getName));
+        int run = 0;
+        int failed = 0;
+        for (Method method : methods) {
+            if (!method.getName().startsWith("test") || method.getParameterCount() != 0) {
+                continue;
+            }
+            run++;
+            String name = test.getClass().getSimpleName() + "." + method.getName();
+            try {
+                method.invoke(test);
+                System.out.println("ok     " + name);
+            } catch (InvocationTargetException e) {
+                failed++;
+                System.out.println("FAILED " + name + ": " + e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        System.out.println(run + " checks, " + failed + " failed");
+        if (failed > 0) {
+            throw new AssertionError(failed + " of " + run + " checks failed in " + test.getClass().getSimpleName());
+        }
+    }
+
+    static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    static void checkEquals(long expected, long actual, String what) {
+        if (expected != actual) {
+            throw new AssertionError(what + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    static void checkEquals(Object expected, Object actual, String what) {
+        if (!Objects.equals(expected, actual)) {
+            throw new AssertionError(what + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    static void checkEquals(int[] expected, int[] actual, String what) {
+        if (!Arrays.equals(expected, actual)) {
+            throw new AssertionError(what + ": expected " + Arrays.toString(expected) + " but was " + Arrays.toString(actual));
+        }
+    }
+
+    /** Passes if {@code body} throws {@code type}. */
+    static void checkThrows(Class<? extends Throwable> type, Runnable body, String what) {
+        try {
+            body.run();
+        } catch (Throwable e) {
+            if (type.isInstance(e)) {
+                return;
+            }
+            throw new AssertionError(what + ": expected " + type.getSimpleName() + " but got " + e, e);
+        }
+        throw new AssertionError(what + ": expected " + type.getSimpleName() + " but nothing was thrown");
+    }
+}
@@ -0,0 +1,99 @@
+package test.java.com.devutilities.automation;
+
+import main.java.com.devutilities.automation.CommitPlanner;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+import static test.java.com.devutilities.automation.Checks.check;
+import static test.java.com.devutilities.automation.Checks.checkEquals;
+import static test.java.com.devutilities.automation.Checks.checkThrows;
+
+/** Checks of {@link CommitPlanner}'s sampling and day iteration. */
+public class CommitPlannerTest {
+
+    private static final int WORDS = (CommitPlanner.SECONDS_PER_DAY + 63) / 64;
+
+    public static void main(String[] args) {
+        Checks.runAll(new CommitPlannerTest());
+    }
+
+    public void testSampleOfZeroIsEmpty() {
+        long[] used = new long[WORDS];
+        checkEquals(0, CommitPlanner.sample(0, new SplittableRandom(1), used).length, "commits");
+        checkCleared(used);
+    }
+
+    public void testSampleOfOneIsASecondOfTheDay() {
+        for (long seed = 0; seed < 1_000; seed++) {
+            long[] used = new long[WORDS];
+            int[] seconds = CommitPlanner.sample(1, new SplittableRandom(seed), used);
+            checkEquals(1, seconds.length, "commits");
+            check(seconds[0] >= 0 && seconds[0] < CommitPlanner.SECONDS_PER_DAY, "second " + seconds[0]);
+            checkCleared(used);
+        }
+    }
+
+    public void testSampleOfAWholeDayIsEverySecond() {
+        long[] used = new long[WORDS];
+        int[] seconds = CommitPlanner.sample(CommitPlanner.SECONDS_PER_DAY, new SplittableRandom(7), used);
+        checkEquals(CommitPlanner.SECONDS_PER_DAY, seconds.length, "commits");
+        for (int i = 0; i < seconds.length; i++) {
+            checkEquals(i, seconds[i], "second at " + i);
+        }
+        checkCleared(used);
+    }
+
+    public void testSampleIsSortedAndDistinct() {
+        long[] used = new long[WORDS];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int count : new int[]{2, 10, 1_000, 50_000, CommitPlanner.SECONDS_PER_DAY - 1}) {
+            int[] seconds = CommitPlanner.sample(count, random, used);
+            checkEquals(count, seconds.length, "commits");
+            for (int i = 1; i < seconds.length; i++) {
+                check(seconds[i - 1] < seconds[i], count + " commits: " + seconds[i - 1] + " before " + seconds[i]);
+            }
+            check(seconds[0] >= 0 && seconds[count - 1] < CommitPlanner.SECONDS_PER_DAY, count + " commits out of the day");
+            checkCleared(used);
+        }
+    }
+
+    public void testPlansEveryDayOfTheRangeInOrder() {
+        LocalDate start = LocalDate.of(2020, 2, 27);
+        LocalDate end = LocalDate.of(2020, 3, 2);
+        LocalDate expected = start;
+        for (CommitPlanner.Day day : new CommitPlanner(start, end, 0, 5, new SplittableRandom(3))) {
+            checkEquals(expected, day.date(), "date");
+            check(day.size() <= 5, day.date() + " has " + day.size() + " commits");
+            expected = expected.plusDays(1);
+        }
+        checkEquals(end.plusDays(1), expected, "day after the last one planned");
+    }
+
+    public void testSameSeedPlansTheSameCommits() {
+        LocalDate start = LocalDate.of(2021, 1, 1);
+        LocalDate end = LocalDate.of(2021, 1, 10);
+        Iterator<CommitPlanner.Day> first = new CommitPlanner(start, end, 1, 20, new SplittableRandom(99)).iterator();
+        Iterator<CommitPlanner.Day> second = new CommitPlanner(start, end, 1, 20, new SplittableRandom(99)).iterator();
+        while (first.hasNext()) {
+            CommitPlanner.Day day = first.next();
+            checkEquals(day.secondsOfDay(), second.next().secondsOfDay(), day.date().toString());
+        }
+        check(!second.hasNext(), "second planner has more days");
+    }
+
+    public void testRejectsImpossibleCounts() {
+        LocalDate day = LocalDate.of(2021, 1, 1);
+        checkThrows(IllegalArgumentException.class,
+                () -> new CommitPlanner(day, day, 3, 2, new SplittableRandom()), "min above max");
+        checkThrows(IllegalArgumentException.class,
+                () -> new CommitPlanner(day, day, 0, CommitPlanner.SECONDS_PER_DAY + 1, new SplittableRandom()), "more than a day");
+    }
+
+    private static void checkCleared(long[] used) {
+        for (int i = 0; i < used.length; i++) {
+            checkEquals(0, used[i], "scratch word " + i);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package test.java.com.devutilities.automation;
+
+import main.java.com.devutilities.automation.CommitPlanner;
+import main.java.com.devutilities.automation.GenerationJournal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static test.java.com.devutilities.automation.Checks.check;
+import static test.java.com.devutilities.automation.Checks.checkEquals;
+
+/** Checks of how {@link GenerationJournal} resumes an interrupted run. */
+public class GenerationJournalTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2020, 1, 1);
+    private static final LocalDate DAY_2 = DAY_1.plusDays(1);
+    private static final LocalDate DAY_3 = DAY_1.plusDays(2);
+    private static final GenerationJournal.Run RUN = new GenerationJournal.Run(DAY_1, LocalDate.of(2020, 12, 31), 0, 3);
+
+    private final Path dir;
+    private int files;
+
+    private GenerationJournalTest(Path dir) {
+        this.dir = dir;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Files.createTempDirectory("journal-test");
+        try {
+            Checks.runAll(new GenerationJournalTest(dir));
+        } finally {
+            try (Stream<Path> paths = Files.walk(dir)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                    try {
+                        Files.delete(path);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        }
+    }
+
+    public void testNewJournalStartsAtTheFirstDay() throws IOException {
+        try (GenerationJournal journal = GenerationJournal.open(newFile(), RUN, -1)) {
+            check(!journal.isResumed(), "resumed");
+            checkEquals(0, journal.resumedCommits(), "resumed commits");
+            checkEquals(DAY_1, journal.nextDate(), "next date");
+            check(journal.pendingDays().isEmpty(), "pending days");
+        }
+    }
+
+    public void testResumesInTheMiddleOfADay() throws IOException {
+        Path file = newFile();
+        try (GenerationJournal journal = GenerationJournal.open(file, RUN, -1)) {
+            journal.planned(day(DAY_1, 10, 20, 30));
+            journal.committed(DAY_1, 1);
+            journal.committed(DAY_1, 3);
+            journal.planned(day(DAY_2, 100, 200, 300));
+            journal.committed(DAY_2, 1);
+        }
+
+        try (GenerationJournal journal = GenerationJournal.open(file, RUN, -1)) {
+            check(journal.isResumed(), "not resumed");
+            checkEquals(4, journal.resumedCommits(), "resumed commits");
+            checkEquals(DAY_3, journal.nextDate(), "next date");
+            checkEquals(1, journal.pendingDays().size(), "pending days");
+            checkEquals(DAY_2, journal.pendingDays().get(0).date(), "pending date");
+            checkEquals(new int[]{200, 300}, journal.pendingDays().get(0).secondsOfDay(), "pending seconds");
+        }
+    }
+
+    public void testLaterDoneLineConfirmsEarlierDays() throws IOException {
+        Path file = newFile();
+        try (GenerationJournal journal = GenerationJournal.open(file, RUN, -1)) {
+            journal.planned(day(DAY_1, 10, 20));
+            journal.planned(day(DAY_2, 100, 200, 300));
+            journal.committed(DAY_2, 2);
+        }
+
+        try (GenerationJournal journal = GenerationJournal.open(file, RUN, -1)) {
+            checkEquals(4, journal.resumedCommits(), "resumed commits");
+            checkEquals(1, journal.pendingDays().size(), "pending days");
+            checkEquals(new int[]{300}, journal.pendingDays().get(0).secondsOfDay(), "pending seconds");
+        }
+    }
+
+    public void testResumesThroughTheEmptyPlanMarker() throws IOException {
+        Path file = newFile();
+        try (GenerationJournal journal = GenerationJournal.open(file, RUN, -1)) {
+            journal.planned(day(DAY_1, 10));
+            journal.committed(DAY_1, 1);
+            journal.planned(day(DAY_2));
+        }
+
+        // A primeira retomada compacta o arquivo: só a linha vazia do dia 2 lembra até onde se planejou
+        try (GenerationJournal journal = GenerationJournal.open(file, RUN, -1)) {
+            checkEquals(1, journal.resumedCommits(), "resumed commits");
+            checkEquals(DAY_3, journal.nextDate(), "next date");
+            check(journal.pendingDays().isEmpty(), "pending days");
+        }
+        check(Files.readAllLines(file, StandardCharsets.UTF_8).contains("plan " + DAY_2 + " "), "no marker line after compaction");
+
+        try (GenerationJournal journal = GenerationJournal.open(file, RUN, -1)) {
+            check(journal.isResumed(), "not resumed");
+            checkEquals(1, journal.resumedCommits(), "resumed commits");
+            checkEquals(DAY_3, journal.nextDate(), "next date");
+            check(journal.pendingDays().isEmpty(), "pending days");
+        }
+    }
+
+    public void testSkipsThePendingCommitThatIsAlreadyHead() throws IOException {
+        Path file = newFile();
+        try (GenerationJournal journal = GenerationJournal.open(file, RUN, -1)) {
+            journal.planned(day(DAY_1, 10, 20));
+            journal.committed(DAY_1, 1);
+        }
+
+        try (GenerationJournal journal = GenerationJournal.open(file, RUN, epochSecond(DAY_1, 20))) {
+            checkEquals(2, journal.resumedCommits(), "resumed commits");
+            check(journal.pendingDays().isEmpty(), "pending days");
+            checkEquals(DAY_2, journal.nextDate(), "next date");
+        }
+    }
+
+    public void testKeepsThePendingCommitWhenHeadIsOlder() throws IOException {
+        Path file = newFile();
+        try (GenerationJournal journal = GenerationJournal.open(file, RUN, -1)) {
+            journal.planned(day(DAY_1, 10, 20, 30));
+            journal.committed(DAY_1, 1);
+        }
+
+        try (GenerationJournal journal = GenerationJournal.open(file, RUN, epochSecond(DAY_1, 10))) {
+            checkEquals(1, journal.resumedCommits(), "resumed commits");
+            checkEquals(new int[]{20, 30}, journal.pendingDays().get(0).secondsOfDay(), "pending seconds");
+        }
+    }
+
+    public void testIgnoresALineCutShortByACrash() throws IOException {
+        Path file = newFile();
+        try (GenerationJournal journal = GenerationJournal.open(file, RUN, -1)) {
+            journal.planned(day(DAY_1, 10, 20));
+            journal.committed(DAY_1, 2);
+        }
+        Files.writeString(file, "plan 2020-01-0", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (GenerationJournal journal = GenerationJournal.open(file, RUN, -1)) {
+            checkEquals(2, journal.resumedCommits(), "resumed commits");
+            checkEquals(DAY_2, journal.nextDate(), "next date");
+            check(journal.pendingDays().isEmpty(), "pending days");
+        }
+    }
+
+    public void testDiscardsAJournalOfAnotherRun() throws IOException {
+        Path file = newFile();
+        try (GenerationJournal journal = GenerationJournal.open(file, RUN, -1)) {
+            journal.planned(day(DAY_1, 10));
+            journal.committed(DAY_1, 1);
+        }
+
+        GenerationJournal.Run other = new GenerationJournal.Run(DAY_1, RUN.endDate(), 1, 3);
+        try (GenerationJournal journal = GenerationJournal.open(file, other, -1)) {
+            check(!journal.isResumed(), "resumed");
+            checkEquals(0, journal.resumedCommits(), "resumed commits");
+            checkEquals(DAY_1, journal.nextDate(), "next date");
+        }
+        checkEquals(List.of(other.header(), "commits 0"), Files.readAllLines(file, StandardCharsets.UTF_8), "journal lines");
+    }
+
+    public void testCompleteDeletesTheFile() throws IOException {
+        Path file = newFile();
+        GenerationJournal journal = GenerationJournal.open(file, RUN, -1);
+        journal.planned(day(DAY_1, 10));
+        journal.complete();
+        check(!Files.exists(file), "journal left behind");
+    }
+
+    private Path newFile() {
+        return dir.resolve("commit-history-" + (++files) + ".journal");
+    }
+
+    private static long epochSecond(LocalDate date, int secondOfDay) {
+        return LocalDateTime.of(date, LocalTime.ofSecondOfDay(secondOfDay)).atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private static CommitPlanner.Day day(LocalDate date, int... secondsOfDay) {
+        return new CommitPlanner.Day(date, secondsOfDay);
+    }
+}
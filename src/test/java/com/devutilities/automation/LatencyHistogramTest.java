@@ -0,0 +1,87 @@
+package test.java.com.devutilities.automation;
+
+import main.java.com.devutilities.automation.LatencyHistogram;
+
+import static test.java.com.devutilities.automation.Checks.check;
+import static test.java.com.devutilities.automation.Checks.checkEquals;
+
+/** Checks of {@link LatencyHistogram}'s bucket bounds and percentiles. */
+public class LatencyHistogramTest {
+
+    public static void main(String[] args) {
+        Checks.runAll(new LatencyHistogramTest());
+    }
+
+    public void testEmptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        checkEquals(0, histogram.getCount(), "count");
+        checkEquals(0, histogram.percentileNanos(50), "median");
+        checkEquals(0.0, histogram.getMeanNanos(), "mean");
+    }
+
+    public void testSmallValuesHaveTheirOwnBuckets() {
+        for (long value = 0; value < 8; value++) {
+            checkEquals(value, bucketBound(value), "bound of " + value);
+        }
+    }
+
+    public void testBucketsSplitEachPowerOfTwoInQuarters() {
+        checkEquals(9, bucketBound(8), "bound of 8");
+        checkEquals(9, bucketBound(9), "bound of 9");
+        checkEquals(11, bucketBound(10), "bound of 10");
+        checkEquals(15, bucketBound(14), "bound of 14");
+        checkEquals(19, bucketBound(16), "bound of 16");
+        checkEquals(1_023, bucketBound(1_000), "bound of 1000");
+        checkEquals(1_048_575, bucketBound(1_000_000), "bound of 1000000");
+        checkEquals(1_310_719, bucketBound(1_048_576), "bound of 2^20");
+    }
+
+    public void testBoundIsWithinAQuarterOfTheValue() {
+        for (long value = 1; value < Long.MAX_VALUE / 4; value = value * 3 + 1) {
+            for (long probe : new long[]{value, value + 1, 2 * value - 1}) {
+                long bound = bucketBound(probe);
+                check(bound >= probe, probe + " is above its bucket bound " + bound);
+                check(bound - probe <= probe / 4, probe + " has bucket bound " + bound);
+            }
+        }
+    }
+
+    public void testPercentilesNeverExceedTheMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000);
+        histogram.record(1_001);
+        checkEquals(1_001, histogram.getMaxNanos(), "max");
+        checkEquals(1_001, histogram.percentileNanos(50), "median");
+        checkEquals(1_001, histogram.percentileNanos(100), "p100");
+    }
+
+    public void testPercentilesFollowTheRank() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1_000L);
+        }
+        checkEquals(100, histogram.getCount(), "count");
+        checkEquals(50_500.0, histogram.getMeanNanos(), "mean");
+        checkEquals(bucketBound(50_000), histogram.percentileNanos(50), "p50");
+        checkEquals(bucketBound(90_000), histogram.percentileNanos(90), "p90");
+        // o balde de 99 µs vai além do máximo gravado
+        checkEquals(100_000, histogram.percentileNanos(99), "p99");
+        checkEquals(100_000, histogram.percentileNanos(100), "p100");
+    }
+
+    public void testNegativeValuesCountAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        checkEquals(1, histogram.getCount(), "count");
+        checkEquals(0, histogram.getTotalNanos(), "total");
+        checkEquals(0, histogram.percentileNanos(100), "p100");
+    }
+
+    /** The upper bound of the bucket {@code value} falls in, as the median of it and a much larger value. */
+    private static long bucketBound(long value) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(value);
+        histogram.record(Long.MAX_VALUE);
+        return histogram.percentileNanos(50);
+    }
+}
@@ -0,0 +1,95 @@
+package test.java.com.devutilities.automation;
+
+import main.java.com.devutilities.automation.Pacer;
+
+import static test.java.com.devutilities.automation.Checks.check;
+import static test.java.com.devutilities.automation.Checks.checkEquals;
+
+/** Checks of {@link Pacer} against a clock that only pretends to sleep. */
+public class PacerTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    /** Time moves only when the pacer sleeps or a check says so. */
+    private static final class FakeClock implements Pacer.Clock {
+        long now = 1_000 * MILLIS;
+        long slept;
+
+        @Override
+        public long nanoTime() {
+            return now;
+        }
+
+        @Override
+        public void sleep(long nanos) {
+            now += nanos;
+            slept += nanos;
+        }
+    }
+
+    public static void main(String[] args) {
+        Checks.runAll(new PacerTest());
+    }
+
+    public void testZeroOrNegativeRateIsUnthrottled() {
+        check(Pacer.of(0, 5).isUnthrottled(), "rate 0");
+        check(Pacer.of(-1, 5).isUnthrottled(), "rate -1");
+        check(Pacer.of(Double.NaN, 5).isUnthrottled(), "rate NaN");
+        check(!Pacer.of(10, 5).isUnthrottled(), "rate 10");
+    }
+
+    public void testFirstCommitDoesNotWait() throws InterruptedException {
+        FakeClock clock = new FakeClock();
+        Pacer pacer = Pacer.of(1, 5, clock);
+        pacer.acquire();
+        checkEquals(0, clock.slept, "slept before the first commit");
+        pacer.acquire();
+        checkEquals(1_000 * MILLIS, clock.slept, "slept before the second commit");
+    }
+
+    public void testHoldsTheRequestedRate() throws InterruptedException {
+        FakeClock clock = new FakeClock();
+        Pacer pacer = Pacer.of(100, 5, clock);
+        for (int i = 0; i < 21; i++) {
+            pacer.acquire();
+        }
+        // o primeiro é livre; os outros 20 esperam 10 ms cada
+        check(Math.abs(clock.slept - 200 * MILLIS) < 1_000, "slept " + clock.slept + " ns for 21 commits at 100/s");
+    }
+
+    public void testWorkTimeCountsTowardsTheInterval() throws InterruptedException {
+        FakeClock clock = new FakeClock();
+        Pacer pacer = Pacer.of(20, 1, clock);
+        pacer.acquire();
+        clock.now += 30 * MILLIS;
+        pacer.acquire();
+        check(Math.abs(clock.slept - 20 * MILLIS) < 1_000, "slept " + clock.slept + " ns after 30 ms of a 50 ms interval");
+
+        clock.slept = 0;
+        clock.now += 60 * MILLIS;
+        pacer.acquire();
+        checkEquals(0, clock.slept, "slept after an operation longer than the interval");
+    }
+
+    public void testBurstCatchesUpAfterAStall() throws InterruptedException {
+        FakeClock clock = new FakeClock();
+        Pacer pacer = Pacer.of(10, 3, clock);
+        pacer.acquire();
+        clock.now += 1_000 * MILLIS;
+        for (int i = 0; i < 3; i++) {
+            pacer.acquire();
+        }
+        checkEquals(0, clock.slept, "slept while using the burst");
+        pacer.acquire();
+        check(Math.abs(clock.slept - 100 * MILLIS) < 1_000, "slept " + clock.slept + " ns once the burst was spent");
+    }
+
+    public void testUnthrottledNeverWaits() throws InterruptedException {
+        FakeClock clock = new FakeClock();
+        Pacer pacer = Pacer.of(0, 5, clock);
+        for (int i = 0; i < 1_000; i++) {
+            pacer.acquire();
+        }
+        checkEquals(0, clock.slept, "slept");
+    }
+}
@@ -0,0 +1,74 @@
+package test.java.com.devutilities.automation;
+
+import main.java.com.devutilities.automation.TaskScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static test.java.com.devutilities.automation.Checks.check;
+import static test.java.com.devutilities.automation.Checks.checkEquals;
+
+/** Checks that {@link TaskScheduler} always finishes cancelled tasks, however early they are cancelled. */
+public class TaskSchedulerTest {
+
+    private static final Duration LIMIT = Duration.ofSeconds(10);
+
+    public static void main(String[] args) {
+        Checks.runAll(new TaskSchedulerTest());
+    }
+
+    public void testCancellingATaskQueuedBehindAFullSlotFinishesIt() throws Exception {
+        Set<Long> cancelled = ConcurrentHashMap.newKeySet();
+        TaskScheduler scheduler = new TaskScheduler(type -> 1, task -> {
+            if (task.getStatus() == TaskScheduler.Status.CANCELLED) {
+                cancelled.add(task.getId());
+            }
+        });
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TaskScheduler.Task blocker = scheduler.submit("commits", () -> {
+            running.countDown();
+            release.await();
+        });
+        check(running.await(LIMIT.toMillis(), TimeUnit.MILLISECONDS), "first task never started");
+
+        TaskScheduler.Task queued = scheduler.submit("commits", () -> { });
+        checkEquals(TaskScheduler.Status.QUEUED, queued.getStatus(), "second task");
+        queued.cancel();
+        checkEquals(TaskScheduler.Status.CANCELLED, awaitDone(queued), "cancelled task");
+        check(cancelled.contains(queued.getId()), "listener never saw the task cancelled");
+        checkEquals(List.of(blocker), scheduler.activeTasks(), "active tasks");
+
+        release.countDown();
+        checkEquals(TaskScheduler.Status.SUCCEEDED, awaitDone(blocker), "first task");
+        check(scheduler.activeTasks().isEmpty(), "tasks left active");
+    }
+
+    public void testCancellingRightAfterSubmitFinishesEveryTask() throws Exception {
+        TaskScheduler scheduler = new TaskScheduler(type -> 1, task -> { });
+        for (int i = 0; i < 2_000; i++) {
+            TaskScheduler.Task task = scheduler.submit("issues", () -> { });
+            task.cancel();
+            TaskScheduler.Status status = awaitDone(task);
+            check(status == TaskScheduler.Status.CANCELLED || status == TaskScheduler.Status.SUCCEEDED,
+                    "task " + task.getId() + " ended " + status);
+        }
+        check(scheduler.activeTasks().isEmpty(), scheduler.activeTasks().size() + " tasks left active");
+    }
+
+    private static TaskScheduler.Status awaitDone(TaskScheduler.Task task) throws Exception {
+        FutureTask<TaskScheduler.Status> wait = new FutureTask<>(task::awaitDone);
+        Thread.ofVirtual().start(wait);
+        try {
+            return wait.get(LIMIT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new AssertionError("task " + task.getId() + " still " + task.getStatus() + " after " + LIMIT.toSeconds() + " s");
+        }
+    }
+}